@@ -0,0 +1,73 @@
+package com.ing.mortgage.benchmark;
+
+import com.ing.mortgage.businessrules.RulesEngine;
+import com.ing.mortgage.businessrules.rules.MaxMortgageForHomeValue;
+import com.ing.mortgage.businessrules.rules.MaxMortgageForIncome;
+import com.ing.mortgage.businessrules.rules.SameCurrency;
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.configuration.MortgageRatesConfiguration;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.repository.InMemoryMortgageRateRepository;
+import com.ing.mortgage.service.AnnuityFactorCache;
+import com.ing.mortgage.service.InterestRatesService;
+import com.ing.mortgage.service.MortgageCheckService;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Builds the application's service graph without a Spring context, wired like the application.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static InMemoryMortgageRateRepository mortgageRateRepository() {
+        var configuration = new MortgageRatesConfiguration();
+        List<MortgageRateDb> rates = new ArrayList<>();
+        Instant lastUpdate = Instant.parse("2025-01-01T00:00:00Z");
+        for (int maturityPeriod = 12; maturityPeriod <= 480; maturityPeriod += 12) {
+            rates.add(new MortgageRateDb(maturityPeriod, BigDecimal.valueOf(300 + maturityPeriod / 4, 2), lastUpdate));
+        }
+        configuration.setRates(rates);
+        return new InMemoryMortgageRateRepository(configuration);
+    }
+
+    static InterestRatesService interestRatesService(MortgageCalculationConfiguration.Mode mode) {
+        var configuration = new MortgageCalculationConfiguration();
+        configuration.setMode(mode);
+        return new InterestRatesService(mortgageRateRepository(), new AnnuityFactorCache(configuration), configuration, Optional.empty());
+    }
+
+    static RulesEngine rulesEngine() {
+        return new RulesEngine(List.of(new MaxMortgageForHomeValue(), new MaxMortgageForIncome(), new SameCurrency()));
+    }
+
+    static MortgageCheckService mortgageCheckService(MortgageCalculationConfiguration.Mode mode) {
+        return new MortgageCheckService(interestRatesService(mode), rulesEngine(), Optional.empty(), Optional.empty());
+    }
+
+    static MortgageCheckRequest feasibleRequest(int maturityPeriod) {
+        return MortgageCheckRequest.builder()
+                .maturityPeriod(maturityPeriod)
+                .income(new Amount(BigDecimal.valueOf(60000), Amount.CurrencyEnum.EUR))
+                .loanValue(new Amount(BigDecimal.valueOf(225000), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(BigDecimal.valueOf(300000), Amount.CurrencyEnum.EUR))
+                .build();
+    }
+
+    static MortgageCheckRequest infeasibleRequest(int maturityPeriod) {
+        return MortgageCheckRequest.builder()
+                .maturityPeriod(maturityPeriod)
+                .income(new Amount(BigDecimal.valueOf(20000), Amount.CurrencyEnum.USD))
+                .loanValue(new Amount(BigDecimal.valueOf(325000), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(BigDecimal.valueOf(300000), Amount.CurrencyEnum.EUR))
+                .build();
+    }
+}
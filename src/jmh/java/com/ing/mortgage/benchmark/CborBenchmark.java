@@ -0,0 +1,97 @@
+package com.ing.mortgage.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import com.ing.mortgage.model.MortgageRatesResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding the mortgage check and interest rates bodies as JSON and as CBOR, run with
+ * {@code -Djmh.include=CborBenchmark}. The payload sizes of both formats are logged during setup.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@Slf4j
+public class CborBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectReader requestReader;
+    private ObjectWriter requestWriter;
+    private ObjectWriter responseWriter;
+    private ObjectReader ratesReader;
+    private ObjectWriter ratesWriter;
+    private MortgageCheckRequest request;
+    private MortgageCheckResponse response;
+    private MortgageRatesResponse rates;
+    private byte[] requestBytes;
+    private byte[] ratesBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = format.equals("cbor") ? Jackson2ObjectMapperBuilder.cbor() : Jackson2ObjectMapperBuilder.json();
+        ObjectMapper objectMapper = builder.build();
+        requestReader = objectMapper.readerFor(MortgageCheckRequest.class);
+        requestWriter = objectMapper.writerFor(MortgageCheckRequest.class);
+        responseWriter = objectMapper.writerFor(MortgageCheckResponse.class);
+        ratesReader = objectMapper.readerFor(MortgageRatesResponse.class);
+        ratesWriter = objectMapper.writerFor(MortgageRatesResponse.class);
+
+        request = BenchmarkFixtures.feasibleRequest(360);
+        response = MortgageCheckResponse.builder()
+                .feasible(true)
+                .monthlyCosts(new Amount(new BigDecimal("1140.04"), Amount.CurrencyEnum.EUR))
+                .errorCodes(List.of())
+                .traceId(UUID.randomUUID())
+                .build();
+        rates = BenchmarkFixtures.mortgageCheckService(MortgageCalculationConfiguration.Mode.EXACT).getAllInterestRates(null);
+        rates.setTraceId(UUID.randomUUID());
+        requestBytes = requestWriter.writeValueAsBytes(request);
+        ratesBytes = ratesWriter.writeValueAsBytes(rates);
+        log.info("{} payload sizes: request {} bytes, response {} bytes, {} interest rates {} bytes", format,
+                requestBytes.length, responseWriter.writeValueAsBytes(response).length, rates.getRates().size(), ratesBytes.length);
+    }
+
+    @Benchmark
+    public MortgageCheckRequest decodeRequest() throws IOException {
+        return requestReader.readValue(requestBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public MortgageRatesResponse decodeInterestRates() throws IOException {
+        return ratesReader.readValue(ratesBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeInterestRates() throws IOException {
+        return ratesWriter.writeValueAsBytes(rates);
+    }
+}
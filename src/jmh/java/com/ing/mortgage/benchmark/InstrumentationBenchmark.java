@@ -0,0 +1,87 @@
+package com.ing.mortgage.benchmark;
+
+import com.ing.mortgage.businessrules.RulesEngine;
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import com.ing.mortgage.service.InterestRatesService;
+import com.ing.mortgage.service.MortgageCheckService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+
+/**
+ * Compares mortgage checks with and without registered meters. Without a registry only the exact call counters
+ * are kept; with one, sampled durations are also recorded into percentile histograms. The instrumented throughput
+ * should stay within 3% of the uninstrumented one, run with {@code -Djmh.include=InstrumentationBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    private MortgageCheckService mortgageCheckService;
+    private RulesEngine rulesEngine;
+    private MortgageCheckRequest feasibleRequest;
+    private MortgageCheckRequest infeasibleRequest;
+
+    @Setup
+    public void setUp() {
+        InterestRatesService interestRatesService = BenchmarkFixtures.interestRatesService(MortgageCalculationConfiguration.Mode.EXACT);
+        rulesEngine = BenchmarkFixtures.rulesEngine();
+        mortgageCheckService = new MortgageCheckService(interestRatesService, rulesEngine, Optional.empty(), Optional.empty());
+        if (instrumented) {
+            var registry = new SimpleMeterRegistry();
+            for (var binder : List.of(interestRatesService, rulesEngine, mortgageCheckService)) {
+                binder.bindTo(registry);
+            }
+        }
+        feasibleRequest = BenchmarkFixtures.feasibleRequest(360);
+        infeasibleRequest = BenchmarkFixtures.infeasibleRequest(360);
+    }
+
+    @State(Scope.Thread)
+    public static class TraceId {
+
+        @Setup
+        public void setUp() {
+            MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+        }
+
+        @TearDown
+        public void tearDown() {
+            MDC.remove(X_TRACE_ID);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MortgageCheckResponse checkMortgage_feasible(TraceId traceId) {
+        return mortgageCheckService.checkMortgage(feasibleRequest);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MortgageCheckResponse checkMortgage_infeasible(TraceId traceId) {
+        return mortgageCheckService.checkMortgage(infeasibleRequest);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long evaluateFailures() {
+        return rulesEngine.evaluateFailures(infeasibleRequest);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ing.mortgage.benchmark;
+
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.service.InterestRatesService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterestRatesServiceBenchmark {
+
+    @Param({"12", "60", "120", "240", "360", "480"})
+    public int termMonths;
+
+    @Param({"EXACT", "FAST"})
+    public MortgageCalculationConfiguration.Mode mode;
+
+    private InterestRatesService interestRatesService;
+    private MortgageCheckRequest request;
+    private BigDecimal interestRate;
+
+    @Setup
+    public void setUp() {
+        interestRatesService = BenchmarkFixtures.interestRatesService(mode);
+        request = BenchmarkFixtures.feasibleRequest(termMonths);
+        interestRate = interestRatesService.getInterestRate(request);
+    }
+
+    @Benchmark
+    public MortgageRateDb getMortgageRate() {
+        return interestRatesService.getMortgageRate(termMonths);
+    }
+
+    @Benchmark
+    public Amount calculateMonthlyCosts() {
+        return interestRatesService.calculateMonthlyCosts(request, interestRate);
+    }
+}
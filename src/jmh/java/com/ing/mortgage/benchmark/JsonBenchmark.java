@@ -0,0 +1,71 @@
+package com.ing.mortgage.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectReader requestReader;
+    private ObjectWriter requestWriter;
+    private ObjectReader responseReader;
+    private ObjectWriter responseWriter;
+    private MortgageCheckRequest request;
+    private MortgageCheckResponse response;
+    private byte[] requestJson;
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestReader = objectMapper.readerFor(MortgageCheckRequest.class);
+        requestWriter = objectMapper.writerFor(MortgageCheckRequest.class);
+        responseReader = objectMapper.readerFor(MortgageCheckResponse.class);
+        responseWriter = objectMapper.writerFor(MortgageCheckResponse.class);
+
+        request = BenchmarkFixtures.feasibleRequest(360);
+        response = MortgageCheckResponse.builder()
+                .feasible(true)
+                .monthlyCosts(new Amount(BigDecimal.valueOf(1140.04), Amount.CurrencyEnum.EUR))
+                .traceId(UUID.randomUUID())
+                .build();
+        requestJson = requestWriter.writeValueAsBytes(request);
+        responseJson = responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public MortgageCheckRequest deserializeRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public MortgageCheckResponse deserializeResponse() throws IOException {
+        return responseReader.readValue(responseJson);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ing.mortgage.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.controller.MortgageCheckJsonConverter;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a mortgage check request and writing its response through the HTTP message converter of the
+ * data binding with the streaming {@link MortgageCheckJsonConverter}, run with
+ * {@code -Djmh.include=JsonConverterBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonConverterBenchmark {
+
+    @Param({"dataBinding", "streaming"})
+    public String converter;
+
+    private HttpMessageConverter<Object> messageConverter;
+    private MortgageCheckResponse response;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        messageConverter = converter.equals("streaming")
+                ? new MortgageCheckJsonConverter(objectMapper)
+                : new MappingJackson2HttpMessageConverter(objectMapper);
+
+        response = MortgageCheckResponse.builder()
+                .feasible(false)
+                .monthlyCosts(new Amount(BigDecimal.valueOf(1140.04), Amount.CurrencyEnum.EUR))
+                .errorCodes(List.of(MortgageCheckResponse.ErrorCodesEnum.INSUFFICIENT_INCOME))
+                .traceId(UUID.randomUUID())
+                .build();
+        requestJson = objectMapper.writeValueAsBytes(BenchmarkFixtures.feasibleRequest(360));
+    }
+
+    @Benchmark
+    public Object readRequest() throws IOException {
+        var input = new MockHttpInputMessage(requestJson);
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return messageConverter.read(MortgageCheckRequest.class, input);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        var output = new MockHttpOutputMessage();
+        messageConverter.write(response, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+}
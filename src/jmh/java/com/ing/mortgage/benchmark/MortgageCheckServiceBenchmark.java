@@ -0,0 +1,52 @@
+package com.ing.mortgage.benchmark;
+
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import com.ing.mortgage.service.MortgageCheckService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MortgageCheckServiceBenchmark {
+
+    @Param({"EXACT", "FAST"})
+    public MortgageCalculationConfiguration.Mode mode;
+
+    private MortgageCheckService mortgageCheckService;
+    private MortgageCheckRequest feasibleRequest;
+    private MortgageCheckRequest infeasibleRequest;
+
+    @Setup
+    public void setUp() {
+        mortgageCheckService = BenchmarkFixtures.mortgageCheckService(mode);
+        feasibleRequest = BenchmarkFixtures.feasibleRequest(360);
+        infeasibleRequest = BenchmarkFixtures.infeasibleRequest(360);
+        MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.remove(X_TRACE_ID);
+    }
+
+    @Benchmark
+    public MortgageCheckResponse checkMortgage_feasible() {
+        return mortgageCheckService.checkMortgage(feasibleRequest);
+    }
+
+    @Benchmark
+    public MortgageCheckResponse checkMortgage_infeasible() {
+        return mortgageCheckService.checkMortgage(infeasibleRequest);
+    }
+}
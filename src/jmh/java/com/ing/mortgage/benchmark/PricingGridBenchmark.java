@@ -0,0 +1,70 @@
+package com.ing.mortgage.benchmark;
+
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.configuration.PricingGridConfiguration;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.PricingGridRequest;
+import com.ing.mortgage.model.PricingGridResponse;
+import com.ing.mortgage.service.InterestRatesService;
+import com.ing.mortgage.service.PricingGridService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a full pricing grid (every maturity of the rate table × 100 loan values) against calculating the
+ * same cells one by one, as a loop of mortgage checks would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class PricingGridBenchmark {
+
+    private static final int LOAN_VALUES = 100;
+
+    @Param({"true", "false"})
+    public boolean vectorized;
+
+    @Param({"EXACT", "FAST"})
+    public MortgageCalculationConfiguration.Mode mode;
+
+    private InterestRatesService interestRatesService;
+    private PricingGridService pricingGridService;
+    private PricingGridRequest request;
+
+    @Setup
+    public void setUp() {
+        interestRatesService = BenchmarkFixtures.interestRatesService(mode);
+        var configuration = new PricingGridConfiguration();
+        configuration.setVectorized(vectorized);
+        pricingGridService = new PricingGridService(interestRatesService, configuration);
+        request = PricingGridRequest.builder()
+                .minLoanValue(new Amount(BigDecimal.valueOf(50_000), Amount.CurrencyEnum.EUR))
+                .maxLoanValue(new Amount(BigDecimal.valueOf(50_000 + (LOAN_VALUES - 1) * 5_000L), Amount.CurrencyEnum.EUR))
+                .loanValueStep(BigDecimal.valueOf(5_000))
+                .build();
+    }
+
+    @Benchmark
+    public PricingGridResponse grid() {
+        return pricingGridService.calculatePricingGrid(request, null);
+    }
+
+    @Benchmark
+    public void perRequestLoop(Blackhole blackhole) {
+        for (MortgageRateDb rate : interestRatesService.getAllInterestRates()) {
+            for (int i = 0; i < LOAN_VALUES; i++) {
+                var loanValue = new Amount(BigDecimal.valueOf(50_000 + i * 5_000L), Amount.CurrencyEnum.EUR);
+                var checkRequest = MortgageCheckRequest.builder().loanValue(loanValue).maturityPeriod(rate.maturityPeriod()).build();
+                blackhole.consume(interestRatesService.calculateMonthlyCosts(checkRequest, interestRatesService.getInterestRate(checkRequest)));
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ing.mortgage.benchmark;
+
+import com.ing.mortgage.controller.MortgageCheckRequestValidator;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating a mortgage check request with Hibernate Validator, as {@code @Valid} does, and with the
+ * precompiled {@link MortgageCheckRequestValidator}, run with {@code -Djmh.include=RequestValidationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestValidationBenchmark {
+
+    @Param({"beanValidation", "precompiled"})
+    public String validator;
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    private ValidatorFactory validatorFactory;
+    private Validator requestValidator;
+    private MortgageCheckRequest request;
+
+    @Setup
+    public void setUp() {
+        LocaleContextHolder.setDefaultLocale(Locale.ENGLISH);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        requestValidator = validator.equals("precompiled")
+                ? new MortgageCheckRequestValidator(validatorFactory.getValidator())
+                : new SpringValidatorAdapter(validatorFactory.getValidator());
+        request = BenchmarkFixtures.feasibleRequest(360);
+        if (!valid) {
+            request.setMaturityPeriod(0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult validate() {
+        var bindingResult = new BeanPropertyBindingResult(request, "mortgageCheckRequest");
+        requestValidator.validate(request, bindingResult);
+        return bindingResult;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ing.mortgage.benchmark;
+
+import com.ing.mortgage.businessrules.RuleResult;
+import com.ing.mortgage.businessrules.RulesEngine;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RulesEngineBenchmark {
+
+    private RulesEngine rulesEngine;
+    private MortgageCheckRequest feasibleRequest;
+    private MortgageCheckRequest infeasibleRequest;
+
+    @Setup
+    public void setUp() {
+        rulesEngine = BenchmarkFixtures.rulesEngine();
+        feasibleRequest = BenchmarkFixtures.feasibleRequest(240);
+        infeasibleRequest = BenchmarkFixtures.infeasibleRequest(240);
+    }
+
+    @Benchmark
+    public List<RuleResult> evaluateRules_allPassing() {
+        return rulesEngine.evaluateRules(feasibleRequest);
+    }
+
+    @Benchmark
+    public List<RuleResult> evaluateRules_allFailing() {
+        return rulesEngine.evaluateRules(infeasibleRequest);
+    }
+
+    @Benchmark
+    public long evaluateFailures_allPassing() {
+        return rulesEngine.evaluateFailures(feasibleRequest);
+    }
+
+    @Benchmark
+    public long evaluateFailures_allFailing() {
+        return rulesEngine.evaluateFailures(infeasibleRequest);
+    }
+}
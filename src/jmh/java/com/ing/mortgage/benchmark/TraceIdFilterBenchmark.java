@@ -0,0 +1,83 @@
+package com.ing.mortgage.benchmark;
+
+import com.ing.mortgage.filter.ThreadLocalRandomTraceIdGenerator;
+import com.ing.mortgage.filter.TraceContext;
+import com.ing.mortgage.filter.TraceIdFilter;
+import com.ing.mortgage.filter.TraceIdGenerator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+
+/**
+ * Compares the per-request cost of the trace ID handling before and after the trace ID is parsed once and
+ * generated without {@code SecureRandom}. Every request reads the trace ID twice, as a mortgage check and an error
+ * response do. Runs on several threads, as {@link UUID#randomUUID()} contends under load, with
+ * {@code -Djmh.include=TraceIdFilterBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TraceIdFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean withHeader;
+
+    @Param({"threadLocalRandom", "secureRandom"})
+    public String generator;
+
+    private TraceIdFilter filter;
+    private MockHttpServletRequest request;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup
+    public void setUp() {
+        TraceIdGenerator traceIdGenerator = generator.equals("secureRandom")
+                ? UUID::randomUUID
+                : new ThreadLocalRandomTraceIdGenerator();
+        filter = new TraceIdFilter(Optional.of(traceIdGenerator));
+        request = new MockHttpServletRequest();
+        if (withHeader) {
+            request.addHeader(X_TRACE_ID, UUID.randomUUID().toString());
+        }
+    }
+
+    @Benchmark
+    public void legacyFilter(Blackhole blackhole) throws IOException, ServletException {
+        // the filter before: SecureRandom UUIDs, the MDC entry parsed on every read, no cleanup on failure
+        String traceId = ((HttpServletRequest) request).getHeader(X_TRACE_ID);
+        MDC.put(X_TRACE_ID, traceId != null ? traceId : UUID.randomUUID().toString());
+        legacyChain(blackhole).doFilter(request, response);
+        MDC.remove(X_TRACE_ID);
+    }
+
+    @Benchmark
+    public void filter(Blackhole blackhole) throws IOException, ServletException {
+        filter.doFilter(request, response, (req, res) -> {
+            blackhole.consume(TraceContext.currentTraceId());
+            blackhole.consume(TraceContext.currentTraceId());
+        });
+    }
+
+    private static FilterChain legacyChain(Blackhole blackhole) {
+        return (req, res) -> {
+            blackhole.consume(UUID.fromString(MDC.get(X_TRACE_ID)));
+            blackhole.consume(UUID.fromString(MDC.get(X_TRACE_ID)));
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.ing.mortgage.businessrules;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * What a rule knows analytically about the loan values it accepts for an otherwise fixed request.
+ *
+ * @param kind the kind of bound
+ * @param maxLoanValue the largest accepted loan value for {@link Kind#AT_MOST}, null otherwise
+ */
+public record LoanBound(Kind kind, BigDecimal maxLoanValue) {
+
+    public enum Kind {
+        /**
+         * The rule passes exactly for loan values up to and including {@link #maxLoanValue()}.
+         */
+        AT_MOST,
+        /**
+         * The outcome of the rule does not depend on the loan value.
+         */
+        LOAN_INDEPENDENT,
+        /**
+         * The rule declares no bound; the largest accepted loan value has to be searched for.
+         */
+        UNKNOWN
+    }
+
+    private static final LoanBound LOAN_INDEPENDENT = new LoanBound(Kind.LOAN_INDEPENDENT, null);
+    private static final LoanBound UNKNOWN = new LoanBound(Kind.UNKNOWN, null);
+
+    public LoanBound {
+        Objects.requireNonNull(kind, "kind");
+        if ((kind == Kind.AT_MOST) != (maxLoanValue != null)) {
+            throw new IllegalArgumentException("maxLoanValue must be set for AT_MOST bounds only");
+        }
+    }
+
+    public static LoanBound atMost(BigDecimal maxLoanValue) {
+        return new LoanBound(Kind.AT_MOST, maxLoanValue);
+    }
+
+    public static LoanBound loanIndependent() {
+        return LOAN_INDEPENDENT;
+    }
+
+    public static LoanBound unknown() {
+        return UNKNOWN;
+    }
+}
@@ -14,4 +14,16 @@ public interface MortgageBusinessRule {
      * @return the result of the rule evaluation
      */
     RuleResult applyRule(MortgageCheckRequest mortgageCheckRequest);
+
+    /**
+     * Declares which loan values the rule accepts when everything but the loan value of the request is fixed.
+     * The bound must agree with {@link #applyRule(MortgageCheckRequest)}; the loan value of the request is ignored.
+     * Rules without an analytic bound keep the default, and the largest accepted loan is then searched for.
+     *
+     * @param mortgageCheckRequest the mortgage check request whose loan value is to be bounded
+     * @return the bound on the loan value
+     */
+    default LoanBound getLoanBound(MortgageCheckRequest mortgageCheckRequest) {
+        return LoanBound.unknown();
+    }
 }
@@ -2,4 +2,28 @@ package com.ing.mortgage.businessrules;
 
 import com.ing.mortgage.model.MortgageCheckResponse;
 
-public record RuleResult(boolean passed, MortgageCheckResponse.ErrorCodesEnum errorCode) { }
+public record RuleResult(boolean passed, MortgageCheckResponse.ErrorCodesEnum errorCode) {
+
+    public static final RuleResult PASSED = new RuleResult(true, null);
+
+    private static final RuleResult[] FAILED = createFailedResults();
+
+    /**
+     * Returns the shared result for a rule that failed with the given error code.
+     *
+     * @param errorCode the error code of the failed rule
+     * @return the shared failed result
+     */
+    public static RuleResult failed(MortgageCheckResponse.ErrorCodesEnum errorCode) {
+        return FAILED[errorCode.ordinal()];
+    }
+
+    private static RuleResult[] createFailedResults() {
+        var errorCodes = MortgageCheckResponse.ErrorCodesEnum.values();
+        var results = new RuleResult[errorCodes.length];
+        for (var errorCode : errorCodes) {
+            results[errorCode.ordinal()] = new RuleResult(false, errorCode);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ing.mortgage.businessrules;
+
+import com.ing.mortgage.metrics.SampledTimer;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates one rule and keeps its outcome counts and sampled cost. Counting uses striped {@link LongAdder}s and
+ * only one in {@code timingSampleRate} evaluations is timed, so recording stays cheap and does not allocate.
+ */
+public class RuleStatistics {
+
+    private static final ErrorCodesEnum[] ERROR_CODES = ErrorCodesEnum.values();
+
+    private final MortgageBusinessRule rule;
+    private final String ruleName;
+    private final SampledTimer timer;
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder[] failuresByErrorCode = new LongAdder[ERROR_CODES.length];
+
+    public RuleStatistics(MortgageBusinessRule rule, int timingSampleRate) {
+        this.rule = rule;
+        this.ruleName = rule.getClass().getSimpleName();
+        this.timer = new SampledTimer("mortgage.rules.evaluation", "evaluations of a mortgage business rule",
+                Tags.of("rule", ruleName), timingSampleRate);
+        for (int i = 0; i < failuresByErrorCode.length; i++) {
+            failuresByErrorCode[i] = new LongAdder();
+        }
+    }
+
+    public RuleResult apply(MortgageCheckRequest mortgageCheckRequest) {
+        long start = timer.start();
+        RuleResult result = rule.applyRule(mortgageCheckRequest);
+        timer.stop(start);
+        if (!result.passed()) {
+            failures.increment();
+            if (result.errorCode() != null) {
+                failuresByErrorCode[result.errorCode().ordinal()].increment();
+            }
+        }
+        return result;
+    }
+
+    public MortgageBusinessRule getRule() {
+        return rule;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * Registers the evaluation timer and pass/fail counters of this rule, tagged by rule and error code.
+     *
+     * @param registry the registry to register with
+     */
+    public void register(MeterRegistry registry) {
+        timer.register(registry);
+        FunctionCounter.builder("mortgage.rules.results", this, statistics -> statistics.timer.getCalls() - statistics.failures.sum())
+                .tags("rule", ruleName, "outcome", "pass", "errorCode", "none")
+                .description("Outcomes of a mortgage business rule")
+                .register(registry);
+        for (ErrorCodesEnum errorCode : ERROR_CODES) {
+            FunctionCounter.builder("mortgage.rules.results", failuresByErrorCode[errorCode.ordinal()], LongAdder::sum)
+                    .tags("rule", ruleName, "outcome", "fail", "errorCode", errorCode.name())
+                    .description("Outcomes of a mortgage business rule")
+                    .register(registry);
+        }
+    }
+
+    public Snapshot snapshot() {
+        long evaluationCount = timer.getCalls();
+        long failureCount = failures.sum();
+        return new Snapshot(ruleName,
+                evaluationCount,
+                failureCount,
+                evaluationCount == 0 ? 0 : (double) failureCount / evaluationCount,
+                timer.getAverageNanos());
+    }
+
+    public record Snapshot(String rule, long evaluations, long failures, double failureRate, double averageNanos) { }
+}
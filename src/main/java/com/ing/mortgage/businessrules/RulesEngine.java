@@ -1,20 +1,237 @@
 package com.ing.mortgage.businessrules;
 
+import com.ing.mortgage.configuration.RulesEngineConfiguration;
+import com.ing.mortgage.model.Amount;
 import com.ing.mortgage.model.MortgageCheckRequest;
-import lombok.RequiredArgsConstructor;
+import com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
-public class RulesEngine {
+@Slf4j
+public class RulesEngine implements MeterBinder {
 
-    private final List<MortgageBusinessRule> mortgageRules;
+    private static final ErrorCodesEnum[] ERROR_CODES = ErrorCodesEnum.values();
+
+    /**
+     * Failure rate assumed for rules that have not failed yet, so that their score stays finite.
+     */
+    private static final double MIN_FAILURE_RATE = 1e-6;
+
+    static {
+        if (ERROR_CODES.length > Long.SIZE) {
+            throw new IllegalStateException("Too many error codes for a failure bitmask: " + ERROR_CODES.length);
+        }
+    }
+
+    private final RulesEvaluationStrategy strategy;
+    private final BigDecimal maxLoanValueLimit;
+    private final RuleStatistics[] mortgageRules;
+    private volatile RuleStatistics[] evaluationOrder;
+
+    public RulesEngine(List<MortgageBusinessRule> mortgageRules) {
+        this(mortgageRules, new RulesEngineConfiguration());
+    }
+
+    @Autowired
+    public RulesEngine(List<MortgageBusinessRule> mortgageRules, RulesEngineConfiguration rulesEngineConfiguration) {
+        this.strategy = rulesEngineConfiguration.getStrategy();
+        this.maxLoanValueLimit = rulesEngineConfiguration.getMaxLoanValueLimit();
+        this.mortgageRules = mortgageRules.stream()
+                .map(rule -> new RuleStatistics(rule, rulesEngineConfiguration.getTimingSampleRate()))
+                .toArray(RuleStatistics[]::new);
+        this.evaluationOrder = this.mortgageRules;
+    }
 
     public List<RuleResult> evaluateRules(MortgageCheckRequest mortgageCheckRequest) {
-        return mortgageRules.stream()
-                .map(rule -> rule.applyRule(mortgageCheckRequest))
-                .toList();
+        var results = new ArrayList<RuleResult>(mortgageRules.length);
+        for (RuleStatistics rule : mortgageRules) {
+            results.add(rule.apply(mortgageCheckRequest));
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates the rules according to the configured strategy without allocating. Every failed rule sets the bit
+     * of its error code's ordinal; with {@link RulesEvaluationStrategy#FIRST_FAILURE} and
+     * {@link RulesEvaluationStrategy#ADAPTIVE} evaluation stops at the first failure.
+     *
+     * @param mortgageCheckRequest the mortgage check request to evaluate
+     * @return the bitmask of failed error codes, zero if all rules passed
+     * @throws IllegalStateException if a rule fails without an error code
+     */
+    public long evaluateFailures(MortgageCheckRequest mortgageCheckRequest) {
+        boolean stopAtFirstFailure = strategy != RulesEvaluationStrategy.ALL;
+        long failures = 0;
+        for (RuleStatistics rule : evaluationOrder) {
+            RuleResult result = rule.apply(mortgageCheckRequest);
+            if (!result.passed()) {
+                failures |= failureBit(result);
+                if (stopAtFirstFailure) {
+                    break;
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Finds the largest loan value, in whole cents, that every rule accepts when the rest of the request is fixed.
+     * The analytic bounds of the rules are intersected in one pass and loan independent rules are evaluated once;
+     * only rules without a bound fall back to a binary search below the intersected bound, which assumes that such
+     * a rule accepts every loan value below one it accepts. The evaluations are not counted in the rule statistics.
+     *
+     * @param mortgageCheckRequest the request to vary the loan value of; only the currency of its loan value is used
+     * @return the largest accepted loan value, or empty if the rules accept no loan value at all
+     */
+    public Optional<BigDecimal> findMaxLoanValue(MortgageCheckRequest mortgageCheckRequest) {
+        BigDecimal bound = maxLoanValueLimit;
+        var searchedRules = new ArrayList<MortgageBusinessRule>();
+        for (RuleStatistics statistics : mortgageRules) {
+            MortgageBusinessRule rule = statistics.getRule();
+            LoanBound loanBound = rule.getLoanBound(mortgageCheckRequest);
+            switch (loanBound.kind()) {
+                case AT_MOST -> bound = bound.min(loanBound.maxLoanValue());
+                case LOAN_INDEPENDENT -> {
+                    if (!rule.applyRule(withLoanValue(mortgageCheckRequest, 0)).passed()) {
+                        return Optional.empty();
+                    }
+                }
+                case UNKNOWN -> searchedRules.add(rule);
+            }
+        }
+        if (bound.signum() < 0) {
+            return Optional.empty();
+        }
+        long maxCents = bound.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+        if (!searchedRules.isEmpty()) {
+            maxCents = searchMaxLoanCents(mortgageCheckRequest, searchedRules, maxCents);
+        }
+        return maxCents < 0 ? Optional.empty() : Optional.of(BigDecimal.valueOf(maxCents, 2));
+    }
+
+    /**
+     * Binary search for the largest loan value in {@code [0, maxCents]} cents that all given rules accept.
+     *
+     * @return the largest accepted loan value in cents, or -1 if not even a zero loan is accepted
+     */
+    private static long searchMaxLoanCents(MortgageCheckRequest mortgageCheckRequest, List<MortgageBusinessRule> rules, long maxCents) {
+        if (acceptAll(rules, withLoanValue(mortgageCheckRequest, maxCents))) {
+            return maxCents;
+        }
+        if (!acceptAll(rules, withLoanValue(mortgageCheckRequest, 0))) {
+            return -1;
+        }
+        // invariant: low is accepted, high is not
+        long low = 0;
+        long high = maxCents;
+        while (high - low > 1) {
+            long mid = (low + high) >>> 1;
+            if (acceptAll(rules, withLoanValue(mortgageCheckRequest, mid))) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean acceptAll(List<MortgageBusinessRule> rules, MortgageCheckRequest mortgageCheckRequest) {
+        for (MortgageBusinessRule rule : rules) {
+            if (!rule.applyRule(mortgageCheckRequest).passed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MortgageCheckRequest withLoanValue(MortgageCheckRequest mortgageCheckRequest, long cents) {
+        return MortgageCheckRequest.builder()
+                .loanValue(new Amount(BigDecimal.valueOf(cents, 2), mortgageCheckRequest.getLoanValue().getCurrency()))
+                .maturityPeriod(mortgageCheckRequest.getMaturityPeriod())
+                .income(mortgageCheckRequest.getIncome())
+                .homeValue(mortgageCheckRequest.getHomeValue())
+                .build();
+    }
+
+    /**
+     * Converts a failure bitmask into error codes, in the order the codes are declared in the API.
+     *
+     * @param failures the bitmask returned by {@link #evaluateFailures(MortgageCheckRequest)}
+     * @return the error codes of the failed rules
+     */
+    public static List<ErrorCodesEnum> toErrorCodes(long failures) {
+        var errorCodes = new ArrayList<ErrorCodesEnum>(Long.bitCount(failures));
+        for (long remaining = failures; remaining != 0; remaining &= remaining - 1) {
+            errorCodes.add(ERROR_CODES[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return errorCodes;
+    }
+
+    /**
+     * With the {@link RulesEvaluationStrategy#ADAPTIVE} strategy, publishes a new evaluation order from the rule
+     * statistics: rules with the lowest expected cost per detected failure (average cost divided by failure rate)
+     * run first, ties keep registration order. Runs on the scheduler, never on the request path.
+     */
+    @Scheduled(fixedDelayString = "${mortgage.rules.reorderInterval:PT30S}")
+    public void reorderRules() {
+        if (strategy != RulesEvaluationStrategy.ADAPTIVE) {
+            return;
+        }
+        var scores = new double[mortgageRules.length];
+        var order = new Integer[mortgageRules.length];
+        for (int i = 0; i < mortgageRules.length; i++) {
+            var snapshot = mortgageRules[i].snapshot();
+            scores[i] = snapshot.averageNanos() / Math.max(snapshot.failureRate(), MIN_FAILURE_RATE);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> scores[i]).thenComparingInt(i -> i));
+        var newOrder = Arrays.stream(order).map(i -> mortgageRules[i]).toArray(RuleStatistics[]::new);
+        if (!Arrays.equals(newOrder, evaluationOrder)) {
+            log.info("Reordered mortgage rules: {}", Arrays.stream(newOrder).map(RuleStatistics::getRuleName).toList());
+            evaluationOrder = newOrder;
+        }
+    }
+
+    /**
+     * Registers a sampled evaluation timer and exact pass/fail counters for every rule.
+     *
+     * @param registry the registry to register with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RuleStatistics rule : mortgageRules) {
+            rule.register(registry);
+        }
+    }
+
+    public RulesEvaluationStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return the statistics of every rule, in the current evaluation order
+     */
+    public List<RuleStatistics.Snapshot> getRuleStatistics() {
+        return Arrays.stream(evaluationOrder).map(RuleStatistics::snapshot).toList();
+    }
+
+    static long failureBit(RuleResult result) {
+        if (result.errorCode() == null) {
+            throw new IllegalStateException("Failed rule result without error code");
+        }
+        return 1L << result.errorCode().ordinal();
     }
 }
@@ -0,0 +1,27 @@
+package com.ing.mortgage.businessrules;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/rules}) showing the evaluation strategy, the current rule order and the
+ * statistics it is derived from.
+ */
+@Component
+@Endpoint(id = "rules")
+@RequiredArgsConstructor
+public class RulesEngineEndpoint {
+
+    private final RulesEngine rulesEngine;
+
+    @ReadOperation
+    public RulesReport rules() {
+        return new RulesReport(rulesEngine.getStrategy(), rulesEngine.getRuleStatistics());
+    }
+
+    public record RulesReport(RulesEvaluationStrategy strategy, List<RuleStatistics.Snapshot> rules) { }
+}
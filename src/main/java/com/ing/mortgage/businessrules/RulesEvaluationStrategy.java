@@ -0,0 +1,16 @@
+package com.ing.mortgage.businessrules;
+
+public enum RulesEvaluationStrategy {
+    /**
+     * Evaluates every rule and reports every failure.
+     */
+    ALL,
+    /**
+     * Evaluates rules in registration order and stops at the first failure.
+     */
+    FIRST_FAILURE,
+    /**
+     * Stops at the first failure and periodically reorders the rules so that cheap, frequently failing rules run first.
+     */
+    ADAPTIVE
+}
@@ -1,5 +1,6 @@
 package com.ing.mortgage.businessrules.rules;
 
+import com.ing.mortgage.businessrules.LoanBound;
 import com.ing.mortgage.businessrules.MortgageBusinessRule;
 import com.ing.mortgage.businessrules.RuleResult;
 import com.ing.mortgage.model.MortgageCheckRequest;
@@ -25,8 +26,19 @@ public class MaxMortgageForHomeValue implements MortgageBusinessRule {
         BigDecimal loanValue = mortgageCheckRequest.getLoanValue().getAmount();
         boolean passed = loanValue.compareTo(maxMortgageAmount) <= 0;
         if (passed) {
-            return new RuleResult(true, null);
+            return RuleResult.PASSED;
         }
-        return new RuleResult(false, HIGH_LOAN_TO_VALUE);
+        return RuleResult.failed(HIGH_LOAN_TO_VALUE);
+    }
+
+    /**
+     * The loan value may not exceed the home value.
+     *
+     * @param mortgageCheckRequest the mortgage check request whose loan value is to be bounded
+     * @return the home value as upper bound
+     */
+    @Override
+    public LoanBound getLoanBound(MortgageCheckRequest mortgageCheckRequest) {
+        return LoanBound.atMost(mortgageCheckRequest.getHomeValue().getAmount());
     }
 }
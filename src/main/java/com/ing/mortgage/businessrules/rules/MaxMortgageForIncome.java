@@ -1,5 +1,6 @@
 package com.ing.mortgage.businessrules.rules;
 
+import com.ing.mortgage.businessrules.LoanBound;
 import com.ing.mortgage.businessrules.MortgageBusinessRule;
 import com.ing.mortgage.businessrules.RuleResult;
 import com.ing.mortgage.model.MortgageCheckRequest;
@@ -11,7 +12,7 @@ import static com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum.INSUFF
 
 @Component
 public class MaxMortgageForIncome implements MortgageBusinessRule {
-    private static final double MAX_INCOME_MULTIPLIER = 4.0;
+    private static final BigDecimal MAX_INCOME_MULTIPLIER = BigDecimal.valueOf(4);
 
     /**
      * Applies the maximum mortgage for income rule.
@@ -22,11 +23,25 @@ public class MaxMortgageForIncome implements MortgageBusinessRule {
      */
     @Override
     public RuleResult applyRule(MortgageCheckRequest mortgageCheckRequest) {
-        var maxMortgageAmount = mortgageCheckRequest.getIncome().getAmount().multiply(BigDecimal.valueOf(MAX_INCOME_MULTIPLIER));
-        boolean passed = mortgageCheckRequest.getLoanValue().getAmount().compareTo(maxMortgageAmount) <= 0;
+        boolean passed = mortgageCheckRequest.getLoanValue().getAmount().compareTo(maxMortgageAmount(mortgageCheckRequest)) <= 0;
         if (passed) {
-            return new RuleResult(true, null);
+            return RuleResult.PASSED;
         }
-        return new RuleResult(false, INSUFFICIENT_INCOME);
+        return RuleResult.failed(INSUFFICIENT_INCOME);
+    }
+
+    /**
+     * The loan value may not exceed four times the applicant's income.
+     *
+     * @param mortgageCheckRequest the mortgage check request whose loan value is to be bounded
+     * @return four times the income as upper bound
+     */
+    @Override
+    public LoanBound getLoanBound(MortgageCheckRequest mortgageCheckRequest) {
+        return LoanBound.atMost(maxMortgageAmount(mortgageCheckRequest));
+    }
+
+    private static BigDecimal maxMortgageAmount(MortgageCheckRequest mortgageCheckRequest) {
+        return mortgageCheckRequest.getIncome().getAmount().multiply(MAX_INCOME_MULTIPLIER);
     }
 }
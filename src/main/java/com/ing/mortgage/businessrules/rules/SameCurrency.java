@@ -1,5 +1,6 @@
 package com.ing.mortgage.businessrules.rules;
 
+import com.ing.mortgage.businessrules.LoanBound;
 import com.ing.mortgage.businessrules.MortgageBusinessRule;
 import com.ing.mortgage.businessrules.RuleResult;
 import com.ing.mortgage.model.MortgageCheckRequest;
@@ -18,8 +19,19 @@ public class SameCurrency implements MortgageBusinessRule {
 
         boolean passed = incomeCurrency.equals(loanCurrency) && incomeCurrency.equals(homeCurrency);
         if (passed) {
-            return new RuleResult(true, null);
+            return RuleResult.PASSED;
         }
-        return new RuleResult(false, CURRENCY_MISMATCH);
+        return RuleResult.failed(CURRENCY_MISMATCH);
+    }
+
+    /**
+     * Only the currency of the loan matters, not its value.
+     *
+     * @param mortgageCheckRequest the mortgage check request whose loan value is to be bounded
+     * @return a loan independent bound
+     */
+    @Override
+    public LoanBound getLoanBound(MortgageCheckRequest mortgageCheckRequest) {
+        return LoanBound.loanIndependent();
     }
 }
@@ -0,0 +1,25 @@
+package com.ing.mortgage.configuration;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class CborConfiguration {
+
+    /**
+     * Reads and writes {@code application/cbor} for callers that ask for it in {@code Content-Type} or
+     * {@code Accept}; JSON stays the default. Amounts are encoded as CBOR decimal fractions, so they keep their
+     * exact value and scale. The object mapper is configured like the application's JSON one, and the converter
+     * replaces the default CBOR converter Spring MVC would build without that configuration.
+     *
+     * @param objectMapperBuilder the application's object mapper builder
+     * @return the CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
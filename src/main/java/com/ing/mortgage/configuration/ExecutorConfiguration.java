@@ -0,0 +1,55 @@
+package com.ing.mortgage.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfiguration {
+
+    public static final String MORTGAGE_CHECK_EXECUTOR = "mortgageCheckExecutor";
+
+    /**
+     * Bounded executor for evaluating the requests of a batch in parallel. When the queue is full the
+     * submitting request thread evaluates the item itself, which throttles callers instead of failing.
+     *
+     * @param mortgageBatchConfiguration the batch settings
+     * @return the executor for mortgage checks
+     */
+    @Bean(name = MORTGAGE_CHECK_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor mortgageCheckExecutor(MortgageBatchConfiguration mortgageBatchConfiguration) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mortgageBatchConfiguration.getParallelism());
+        executor.setMaxPoolSize(mortgageBatchConfiguration.getParallelism());
+        executor.setQueueCapacity(mortgageBatchConfiguration.getQueueCapacity());
+        executor.setThreadNamePrefix("mortgage-check-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Executor for batch items when {@code spring.threads.virtual.enabled} is set: every item runs on its own
+     * virtual thread, so blocking rules do not tie up platform threads. Submitting blocks once
+     * {@code mortgage.batch.virtualConcurrencyLimit} items are running, which throttles callers like the
+     * platform executor does.
+     *
+     * @param mortgageBatchConfiguration the batch settings
+     * @return the executor for mortgage checks
+     */
+    @Bean(name = MORTGAGE_CHECK_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualMortgageCheckExecutor(MortgageBatchConfiguration mortgageBatchConfiguration) {
+        var executor = new SimpleAsyncTaskExecutor("mortgage-check-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(mortgageBatchConfiguration.getVirtualConcurrencyLimit());
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        return executor;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ing.mortgage.configuration;
+
+import com.ing.mortgage.filter.TraceContext;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Copies the MDC of the submitting thread, including the trace ID, and its {@link TraceContext} to the thread
+ * running the task. The context the running thread had before is restored afterwards, so tasks run by the caller
+ * itself (e.g. on rejection) leave the request's context intact.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> submitterContext = MDC.getCopyOfContextMap();
+        UUID submitterTraceId = TraceContext.currentTraceId();
+        return () -> {
+            Map<String, String> previousContext = MDC.getCopyOfContextMap();
+            UUID previousTraceId = TraceContext.currentTraceId();
+            setContext(submitterContext);
+            TraceContext.set(submitterTraceId);
+            try {
+                runnable.run();
+            } finally {
+                setContext(previousContext);
+                TraceContext.set(previousTraceId);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
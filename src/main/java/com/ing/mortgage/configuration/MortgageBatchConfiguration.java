@@ -0,0 +1,17 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.batch")
+@Getter
+@Setter
+public class MortgageBatchConfiguration {
+    private int maxSize = 50;
+    private int parallelism = 8;
+    private int queueCapacity = 500;
+    private int virtualConcurrencyLimit = 256;
+}
@@ -0,0 +1,27 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.calculation")
+@Getter
+@Setter
+public class MortgageCalculationConfiguration {
+    private Mode mode = Mode.EXACT;
+    private int annuityFactorCacheSize = 256;
+
+    public enum Mode {
+        /**
+         * BigDecimal arithmetic with cached annuity factors.
+         */
+        EXACT,
+        /**
+         * Double arithmetic with a conservative error bound, falling back to {@link #EXACT}
+         * when the payment lies too close to a half-cent boundary.
+         */
+        FAST
+    }
+}
@@ -0,0 +1,20 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.coalescing")
+@Getter
+@Setter
+public class MortgageCoalescingConfiguration {
+    private boolean enabled = false;
+    /**
+     * How long a request waits for an identical in-flight check before it evaluates on its own.
+     */
+    private Duration maxWait = Duration.ofSeconds(1);
+}
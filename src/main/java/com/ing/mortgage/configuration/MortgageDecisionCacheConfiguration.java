@@ -0,0 +1,24 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.decision-cache")
+@Getter
+@Setter
+public class MortgageDecisionCacheConfiguration {
+    private boolean enabled = false;
+    /**
+     * Largest number of cached mortgage check results.
+     */
+    private int maximumSize = 10_000;
+    /**
+     * How long a result is served from the cache after it was computed.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
@@ -0,0 +1,22 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.logging")
+@Getter
+@Setter
+public class MortgageLoggingConfiguration {
+    /**
+     * One in this many requests is logged with its payload; 0 never logs payloads.
+     */
+    private int payloadSampleRate = 1;
+    /**
+     * Capacity of the asynchronous appender's queue in the {@code structured-logging} profile. Events that do not
+     * fit are dropped and counted.
+     */
+    private int queueSize = 8192;
+}
@@ -0,0 +1,20 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.rates-file")
+@Getter
+@Setter
+public class MortgageRatesFileConfiguration {
+    /**
+     * JSON file with the mortgage rates. When set, rates are loaded from this file and reloaded whenever it
+     * changes, instead of being read from {@code mortgage.rates}.
+     */
+    private Path path;
+}
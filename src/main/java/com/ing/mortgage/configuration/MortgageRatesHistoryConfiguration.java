@@ -0,0 +1,20 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.rates-history")
+@Getter
+@Setter
+public class MortgageRatesHistoryConfiguration {
+    /**
+     * File the history of published rate tables is appended to. Lookups of past rates are only available when set.
+     */
+    private Path path;
+    private int initialCapacity = 4096;
+}
@@ -0,0 +1,34 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.warmup")
+@Getter
+@Setter
+public class MortgageWarmupConfiguration {
+    private boolean enabled = false;
+    /**
+     * Synthetic mortgage checks after which the warmup ends even if their latency still changes.
+     */
+    private int iterations = 20_000;
+    /**
+     * Checks per round; the latency is compared as the average of a round.
+     */
+    private int roundSize = 1_000;
+    /**
+     * The warmup ends early once the average latency of {@code stableRounds} rounds in a row differs less than this
+     * fraction from the round before. Zero waits for all iterations.
+     */
+    private double convergenceTolerance = 0.05;
+    private int stableRounds = 3;
+    /**
+     * Longest time the warmup may delay readiness.
+     */
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
@@ -0,0 +1,21 @@
+package com.ing.mortgage.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.pricing-grid")
+@Getter
+@Setter
+public class PricingGridConfiguration {
+    /**
+     * Largest number of loan values in one grid.
+     */
+    private int maxLoanValues = 1000;
+    /**
+     * Use the vector API when the {@code jdk.incubator.vector} module is present at runtime.
+     */
+    private boolean vectorized = true;
+}
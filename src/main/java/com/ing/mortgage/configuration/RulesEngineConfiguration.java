@@ -0,0 +1,25 @@
+package com.ing.mortgage.configuration;
+
+import com.ing.mortgage.businessrules.RulesEvaluationStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+@Configuration
+@ConfigurationProperties(prefix = "mortgage.rules")
+@Getter
+@Setter
+public class RulesEngineConfiguration {
+    private RulesEvaluationStrategy strategy = RulesEvaluationStrategy.ALL;
+    /**
+     * One in this many rule evaluations is timed.
+     */
+    private int timingSampleRate = 16;
+    /**
+     * Largest loan value considered when searching the maximum affordable loan.
+     */
+    private BigDecimal maxLoanValueLimit = BigDecimal.valueOf(1_000_000_000);
+}
@@ -1,17 +1,16 @@
 package com.ing.mortgage.controller;
 
+import com.ing.mortgage.filter.TraceContext;
 import com.ing.mortgage.model.ErrorResponse;
+import com.ing.mortgage.service.InvalidRequestException;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-
-import java.util.UUID;
-
-import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 @Slf4j
@@ -29,7 +28,7 @@ public class GenericExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
                 new ErrorResponse("INTERNAL_SERVER_ERROR",
                         "An unexpected error occurred. Please try again later.",
-                        UUID.fromString(MDC.get(X_TRACE_ID))));
+                        TraceContext.currentTraceId()));
     }
 
     /**
@@ -40,15 +39,62 @@ public class GenericExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        log.error("Validation error: ", ex);
         String message = ex.getBindingResult().getAllErrors().getFirst().getDefaultMessage();
         if (!ex.getBindingResult().getFieldErrors().isEmpty()) {
             String field = ex.getBindingResult().getFieldErrors().getFirst().getField();
             message = field + ": " + message;
         }
+        // an invalid request is not an application error, its stack trace says nothing
+        log.warn("Validation error: {}", message);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 new ErrorResponse("INVALID_REQUEST",
                         message,
-                        UUID.fromString(MDC.get(X_TRACE_ID))));
+                        TraceContext.currentTraceId()));
+    }
+
+    /**
+     * Handles request parameters that cannot be converted, e.g. a malformed {@code asOf} instant.
+     *
+     * @param ex the MethodArgumentTypeMismatchException thrown during conversion
+     * @return a ResponseEntity containing an error response with status 400
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatchExceptions(MethodArgumentTypeMismatchException ex) {
+        log.warn("Invalid parameter {}: {}", ex.getName(), ex.getValue());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                new ErrorResponse("INVALID_REQUEST",
+                        ex.getName() + ": invalid value",
+                        TraceContext.currentTraceId()));
+    }
+
+    /**
+     * Handles missing request parameters.
+     *
+     * @param ex the MissingServletRequestParameterException thrown during binding
+     * @return a ResponseEntity containing an error response with status 400
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingParameterExceptions(MissingServletRequestParameterException ex) {
+        log.warn("Missing parameter {}", ex.getParameterName());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                new ErrorResponse("INVALID_REQUEST",
+                        ex.getParameterName() + ": must not be null",
+                        TraceContext.currentTraceId()));
+    }
+
+    /**
+     * Handles invalid requests detected by the services, e.g. rates requested as of an instant the rate history
+     * does not cover.
+     *
+     * @param ex the InvalidRequestException thrown by the service
+     * @return a ResponseEntity containing an error response with status 400
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestExceptions(InvalidRequestException ex) {
+        log.warn("Invalid request: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                new ErrorResponse("INVALID_REQUEST",
+                        ex.getMessage(),
+                        TraceContext.currentTraceId()));
     }
 }
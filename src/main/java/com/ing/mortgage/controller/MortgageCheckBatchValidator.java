@@ -0,0 +1,36 @@
+package com.ing.mortgage.controller;
+
+import com.ing.mortgage.configuration.MortgageBatchConfiguration;
+import com.ing.mortgage.model.MortgageCheckBatchRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * Validates the batch itself. The requests of a batch are validated one by one by
+ * {@link com.ing.mortgage.service.MortgageCheckBatchService}, so that one invalid request
+ * does not reject the whole batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class MortgageCheckBatchValidator implements Validator {
+
+    private final MortgageBatchConfiguration mortgageBatchConfiguration;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return MortgageCheckBatchRequest.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        var requests = ((MortgageCheckBatchRequest) target).getRequests();
+        int maxSize = mortgageBatchConfiguration.getMaxSize();
+        if (requests == null) {
+            errors.rejectValue("requests", "NotNull", "must not be null");
+        } else if (requests.isEmpty() || requests.size() > maxSize) {
+            errors.rejectValue("requests", "Size", "size must be between 1 and " + maxSize);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.ing.mortgage.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Reads mortgage check requests and writes mortgage check responses with Jackson's streaming API instead of data
+ * binding. Field names are matched directly, currencies are looked up in a precomputed table, amounts of up to 18
+ * digits become a {@link BigDecimal} without parsing text, and responses are written into pooled buffers.
+ * <p>
+ * The converter handles only input the generated models' data binding accepts in the obvious way. Anything else,
+ * e.g. malformed JSON, an unknown currency, a quoted number or a non-UTF-8 charset, is read again by the
+ * {@link MappingJackson2HttpMessageConverter} of the application's {@link ObjectMapper}, so the result and every
+ * error message stay exactly those of data binding. Responses are written by data binding when the object mapper
+ * is configured in a way the converter does not reproduce.
+ */
+@Component
+@ConditionalOnProperty(prefix = "mortgage.json-codec", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MortgageCheckJsonConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final int MAX_POOLED_BUFFERS = 2 * Runtime.getRuntime().availableProcessors();
+    private static final int MAX_POOLED_BUFFER_BYTES = 8 * 1024;
+    private static final int MAX_FAST_DECIMAL_DIGITS = 18;
+    private static final Map<String, Amount.CurrencyEnum> CURRENCIES = new HashMap<>();
+
+    static {
+        for (Amount.CurrencyEnum currency : Amount.CurrencyEnum.values()) {
+            CURRENCIES.put(currency.getValue(), currency);
+        }
+    }
+
+    private static final SerializedString FEASIBLE = new SerializedString("feasible");
+    private static final SerializedString MONTHLY_COSTS = new SerializedString("monthlyCosts");
+    private static final SerializedString ERROR_CODES = new SerializedString("errorCodes");
+    private static final SerializedString TRACE_ID = new SerializedString("traceId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+
+    private final JsonFactory jsonFactory;
+    private final MappingJackson2HttpMessageConverter dataBinding;
+    private final boolean failOnUnknownProperties;
+    private final boolean streamingReads;
+    private final boolean streamingWrites;
+    private final ArrayBlockingQueue<ByteArrayOutputStream> buffers = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    public MortgageCheckJsonConverter(ObjectMapper objectMapper) {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.jsonFactory = objectMapper.getFactory();
+        this.dataBinding = new MappingJackson2HttpMessageConverter(objectMapper);
+        this.failOnUnknownProperties = objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.streamingReads = !objectMapper.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                && !objectMapper.isEnabled(DeserializationFeature.UNWRAP_ROOT_VALUE);
+        JsonInclude.Include inclusion = objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion();
+        this.streamingWrites = (inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS)
+                && !objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == MortgageCheckRequest.class || clazz == MortgageCheckResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return clazz == MortgageCheckRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz == MortgageCheckResponse.class && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        Charset charset = charset(inputMessage.getHeaders().getContentType());
+        if (streamingReads && (charset == null || StandardCharsets.UTF_8.equals(charset))) {
+            MortgageCheckRequest request = parseRequest(body);
+            if (request != null) {
+                return request;
+            }
+        }
+        return dataBinding.read(clazz, new BufferedInputMessage(body, inputMessage.getHeaders()));
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        if (!streamingWrites) {
+            dataBinding.write(object, outputMessage.getHeaders().getContentType(), outputMessage);
+            return;
+        }
+        ByteArrayOutputStream buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new ByteArrayOutputStream(512);
+        }
+        try {
+            try (JsonGenerator generator = jsonFactory.createGenerator(buffer, JsonEncoding.UTF8)) {
+                writeResponse(generator, (MortgageCheckResponse) object);
+            }
+            outputMessage.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(outputMessage.getBody());
+        } finally {
+            if (buffer.size() <= MAX_POOLED_BUFFER_BYTES) {
+                buffer.reset();
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    /**
+     * Parses a request the way data binding would.
+     *
+     * @param body the request body
+     * @return the request, or null if data binding has to read the body
+     */
+    MortgageCheckRequest parseRequest(byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            var request = new MortgageCheckRequest();
+            for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "loanValue" -> request.setLoanValue(parseAmount(parser, token));
+                    case "maturityPeriod" -> request.setMaturityPeriod(parseInteger(parser, token));
+                    case "income" -> request.setIncome(parseAmount(parser, token));
+                    case "homeValue" -> request.setHomeValue(parseAmount(parser, token));
+                    default -> {
+                        if (failOnUnknownProperties) {
+                            return null;
+                        }
+                        parser.skipChildren();
+                    }
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                return null;
+            }
+            return request;
+        } catch (IOException | NotHandledException e) {
+            return null;
+        }
+    }
+
+    private Amount parseAmount(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw NotHandledException.INSTANCE;
+        }
+        var amount = new Amount();
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            JsonToken valueToken = parser.nextToken();
+            switch (field) {
+                case "amount" -> amount.setAmount(parseDecimal(parser, valueToken));
+                case "currency" -> amount.setCurrency(parseCurrency(parser, valueToken));
+                default -> {
+                    if (failOnUnknownProperties) {
+                        throw NotHandledException.INSTANCE;
+                    }
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw NotHandledException.INSTANCE;
+        }
+        return amount;
+    }
+
+    private static Integer parseInteger(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+            throw NotHandledException.INSTANCE;
+        }
+        return parser.getIntValue();
+    }
+
+    private static Amount.CurrencyEnum parseCurrency(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        Amount.CurrencyEnum currency = token == JsonToken.VALUE_STRING ? CURRENCIES.get(parser.getText()) : null;
+        if (currency == null) {
+            throw NotHandledException.INSTANCE;
+        }
+        return currency;
+    }
+
+    private static BigDecimal parseDecimal(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw NotHandledException.INSTANCE;
+        }
+        BigDecimal decimal = parsePlainDecimal(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        return decimal != null ? decimal : parser.getDecimalValue();
+    }
+
+    /**
+     * Parses a plain decimal of at most {@value #MAX_FAST_DECIMAL_DIGITS} digits, which fits an unscaled long.
+     *
+     * @return the decimal with the scale of its text, or null for longer numbers and exponents
+     */
+    static BigDecimal parsePlainDecimal(char[] text, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = i < end && text[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = text[i];
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_FAST_DECIMAL_DIGITS) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (fraction) {
+                    scale++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    private static void writeResponse(JsonGenerator generator, MortgageCheckResponse response) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(FEASIBLE);
+        if (response.getFeasible() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(response.getFeasible());
+        }
+        generator.writeFieldName(MONTHLY_COSTS);
+        writeAmount(generator, response.getMonthlyCosts());
+        generator.writeFieldName(ERROR_CODES);
+        if (response.getErrorCodes() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (MortgageCheckResponse.ErrorCodesEnum errorCode : response.getErrorCodes()) {
+                if (errorCode == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeString(errorCode.getValue());
+                }
+            }
+            generator.writeEndArray();
+        }
+        generator.writeFieldName(TRACE_ID);
+        UUID traceId = response.getTraceId();
+        if (traceId == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(traceId.toString());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeAmount(JsonGenerator generator, Amount amount) throws IOException {
+        if (amount == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(AMOUNT);
+        if (amount.getAmount() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(amount.getAmount());
+        }
+        generator.writeFieldName(CURRENCY);
+        if (amount.getCurrency() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(amount.getCurrency().getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private static Charset charset(MediaType contentType) {
+        return contentType != null ? contentType.getCharset() : null;
+    }
+
+    /**
+     * Input the streaming parser leaves to data binding. Thrown without a stack trace, it only unwinds the parser.
+     */
+    private static final class NotHandledException extends RuntimeException {
+
+        static final NotHandledException INSTANCE = new NotHandledException();
+
+        private NotHandledException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private record BufferedInputMessage(byte[] body, HttpHeaders headers) implements HttpInputMessage {
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
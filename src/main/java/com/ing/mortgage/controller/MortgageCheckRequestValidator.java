@@ -0,0 +1,96 @@
+package com.ing.mortgage.controller;
+
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Validates a mortgage check request with the constraints of {@code MortgageAPIv1.yaml} written out as plain
+ * checks, instead of bean validation walking the generated model reflectively. The errors are the ones bean
+ * validation reports: the same fields, error codes, rejected values and default messages, so an invalid request
+ * still fails with a {@link org.springframework.web.bind.MethodArgumentNotValidException} and the same
+ * {@code field: message} error response.
+ * <p>
+ * The messages are the default English messages of Hibernate Validator. Requests in another locale are left to
+ * bean validation, which translates them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "mortgage.validation", name = "precompiled", havingValue = "true", matchIfMissing = true)
+public class MortgageCheckRequestValidator implements Validator {
+
+    static final String NOT_NULL = "NotNull";
+    static final String MIN = "Min";
+    static final String DECIMAL_MIN = "DecimalMin";
+
+    private static final String NOT_NULL_MESSAGE = "must not be null";
+    // MortgageCheckRequest.maturityPeriod: minimum 1
+    private static final int MIN_MATURITY_PERIOD = 1;
+    private static final String MIN_MATURITY_PERIOD_MESSAGE = "must be greater than or equal to 1";
+    // Amount.amount: minimum 0.0
+    private static final String MIN_AMOUNT_MESSAGE = "must be greater than or equal to 0.0";
+
+    private final SpringValidatorAdapter beanValidator;
+
+    public MortgageCheckRequestValidator(jakarta.validation.Validator validator) {
+        this.beanValidator = new SpringValidatorAdapter(validator);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return MortgageCheckRequest.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (!Locale.ENGLISH.getLanguage().equals(LocaleContextHolder.getLocale().getLanguage())) {
+            beanValidator.validate(target, errors);
+            return;
+        }
+        var request = (MortgageCheckRequest) target;
+        validateAmount(request.getLoanValue(), "loanValue", errors);
+        Integer maturityPeriod = request.getMaturityPeriod();
+        if (maturityPeriod == null) {
+            reject(errors, "maturityPeriod", NOT_NULL, null, NOT_NULL_MESSAGE);
+        } else if (maturityPeriod < MIN_MATURITY_PERIOD) {
+            reject(errors, "maturityPeriod", MIN, maturityPeriod, MIN_MATURITY_PERIOD_MESSAGE);
+        }
+        validateAmount(request.getIncome(), "income", errors);
+        validateAmount(request.getHomeValue(), "homeValue", errors);
+    }
+
+    private static void validateAmount(Amount amount, String field, Errors errors) {
+        if (amount == null) {
+            reject(errors, field, NOT_NULL, null, NOT_NULL_MESSAGE);
+            return;
+        }
+        BigDecimal value = amount.getAmount();
+        if (value == null) {
+            reject(errors, field + ".amount", NOT_NULL, null, NOT_NULL_MESSAGE);
+        } else if (value.signum() < 0) {
+            reject(errors, field + ".amount", DECIMAL_MIN, value, MIN_AMOUNT_MESSAGE);
+        }
+        if (amount.getCurrency() == null) {
+            reject(errors, field + ".currency", NOT_NULL, null, NOT_NULL_MESSAGE);
+        }
+    }
+
+    // adds the field error SpringValidatorAdapter adds for a constraint violation
+    private static void reject(Errors errors, String field, String errorCode, Object rejectedValue, String message) {
+        if (errors instanceof BindingResult bindingResult) {
+            bindingResult.addError(new FieldError(errors.getObjectName(), errors.getNestedPath() + field, rejectedValue, false,
+                    bindingResult.resolveMessageCodes(errorCode, field), null, message));
+        } else {
+            errors.rejectValue(field, errorCode, message);
+        }
+    }
+}
@@ -1,17 +1,32 @@
 package com.ing.mortgage.controller;
 
 import com.ing.mortgage.api.DefaultApi;
+import com.ing.mortgage.logging.LogFields;
+import com.ing.mortgage.logging.PayloadLogSampler;
+import com.ing.mortgage.model.MaxLoanRequest;
+import com.ing.mortgage.model.MaxLoanResponse;
+import com.ing.mortgage.model.MortgageCheckBatchRequest;
+import com.ing.mortgage.model.MortgageCheckBatchResponse;
 import com.ing.mortgage.model.MortgageCheckRequest;
 import com.ing.mortgage.model.MortgageCheckResponse;
 import com.ing.mortgage.model.MortgageRatesResponse;
+import com.ing.mortgage.model.PricingGridRequest;
+import com.ing.mortgage.model.PricingGridResponse;
+import com.ing.mortgage.service.MortgageCheckBatchService;
 import com.ing.mortgage.service.MortgageCheckService;
+import com.ing.mortgage.service.PricingGridService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -21,17 +36,45 @@ import java.util.UUID;
 public class MortgageController implements DefaultApi {
 
   private final MortgageCheckService mortgageCheckService;
+  private final MortgageCheckBatchService mortgageCheckBatchService;
+  private final MortgageCheckBatchValidator mortgageCheckBatchValidator;
+  private final PricingGridService pricingGridService;
+  private final PayloadLogSampler payloadLogSampler;
+  private final Optional<MortgageCheckRequestValidator> mortgageCheckRequestValidator;
+
+  /**
+   * Replaces bean validation of a batch with {@link MortgageCheckBatchValidator}, so that the requests
+   * of a batch are validated one by one instead of rejecting the whole batch.
+   *
+   * @param binder the binder for the batch request body
+   */
+  @InitBinder("mortgageCheckBatchRequest")
+  public void initBatchBinder(WebDataBinder binder) {
+    binder.setValidator(mortgageCheckBatchValidator);
+  }
+
+  /**
+   * Replaces bean validation of a mortgage check request with {@link MortgageCheckRequestValidator}
+   * when the precompiled validator is enabled.
+   *
+   * @param binder the binder for the mortgage check request body
+   */
+  @InitBinder("mortgageCheckRequest")
+  public void initMortgageCheckBinder(WebDataBinder binder) {
+    mortgageCheckRequestValidator.ifPresent(binder::setValidator);
+  }
 
   /**
    * Handles GET requests for current mortgage interest rates.
    *
    * @param xTraceId the trace ID for request tracking
+   * @param asOf the instant to return the rates in effect for, or null for the current rates
    * @return a response entity containing all mortgage rates
    */
   @Override
-  public ResponseEntity<MortgageRatesResponse> getInterestRates(UUID xTraceId) {
-    log.info("Received request to get interest rates, x-trace-id: {}", xTraceId);
-    return ResponseEntity.ok(mortgageCheckService.getAllInterestRates());
+  public ResponseEntity<MortgageRatesResponse> getInterestRates(UUID xTraceId, OffsetDateTime asOf) {
+    log.info("Received request to get interest rates as of {}, x-trace-id: {}", asOf, xTraceId);
+    return ResponseEntity.ok(mortgageCheckService.getAllInterestRates(toInstant(asOf)));
   }
 
   /**
@@ -39,11 +82,68 @@ public class MortgageController implements DefaultApi {
    *
    * @param mortgageCheckRequest the mortgage check request payload
    * @param xTraceId the trace ID for request tracking
+   * @param asOf the instant whose rates the check uses, or null for the current rates
    * @return a response entity containing the mortgage check result
    */
   @Override
-  public ResponseEntity<MortgageCheckResponse> checkMortgage(@Valid MortgageCheckRequest mortgageCheckRequest, UUID xTraceId) {
-    log.info("Received mortgage check request: {}, x-trace-id: {}", mortgageCheckRequest, xTraceId);
-    return ResponseEntity.ok(mortgageCheckService.checkMortgage(mortgageCheckRequest));
+  public ResponseEntity<MortgageCheckResponse> checkMortgage(@Valid MortgageCheckRequest mortgageCheckRequest, UUID xTraceId, OffsetDateTime asOf) {
+    logRequest("mortgage check", mortgageCheckRequest == null ? null : LogFields.of(mortgageCheckRequest), asOf, xTraceId);
+    return ResponseEntity.ok(mortgageCheckService.checkMortgage(mortgageCheckRequest, toInstant(asOf)));
+  }
+
+  /**
+   * Handles POST requests for the maximum affordable loan.
+   *
+   * @param maxLoanRequest the income, home value and maturity period to find the maximum loan for
+   * @param xTraceId the trace ID for request tracking
+   * @param asOf the instant whose rates the check uses, or null for the current rates
+   * @return a response entity containing the maximum loan and its mortgage check result
+   */
+  @Override
+  public ResponseEntity<MaxLoanResponse> findMaxLoan(@Valid MaxLoanRequest maxLoanRequest, UUID xTraceId, OffsetDateTime asOf) {
+    logRequest("maximum loan", maxLoanRequest == null ? null : LogFields.of(maxLoanRequest), asOf, xTraceId);
+    return ResponseEntity.ok(mortgageCheckService.findMaxLoan(maxLoanRequest, toInstant(asOf)));
+  }
+
+  /**
+   * Handles POST requests for the monthly costs of all maturities over a range of loan values.
+   *
+   * @param pricingGridRequest the range of loan values
+   * @param xTraceId the trace ID for request tracking
+   * @param asOf the instant whose rates the grid uses, or null for the current rates
+   * @return a response entity containing the monthly costs per maturity period and loan value
+   */
+  @Override
+  public ResponseEntity<PricingGridResponse> calculatePricingGrid(@Valid PricingGridRequest pricingGridRequest, UUID xTraceId, OffsetDateTime asOf) {
+    logRequest("pricing grid", pricingGridRequest == null ? null : LogFields.of(pricingGridRequest), asOf, xTraceId);
+    return ResponseEntity.ok(pricingGridService.calculatePricingGrid(pricingGridRequest, toInstant(asOf)));
+  }
+
+  /**
+   * Handles POST requests to check the feasibility of a batch of mortgages.
+   *
+   * @param mortgageCheckBatchRequest the batch of mortgage check requests
+   * @param xTraceId the trace ID for request tracking
+   * @return a response entity containing one result per request, in order
+   */
+  @Override
+  public ResponseEntity<MortgageCheckBatchResponse> checkMortgageBatch(@Valid MortgageCheckBatchRequest mortgageCheckBatchRequest, UUID xTraceId) {
+    log.info("Received mortgage check batch of {} requests, x-trace-id: {}", mortgageCheckBatchRequest.getRequests().size(), xTraceId);
+    return ResponseEntity.ok(mortgageCheckBatchService.checkMortgages(mortgageCheckBatchRequest.getRequests()));
+  }
+
+  private void logRequest(String operation, LogFields payload, OffsetDateTime asOf, UUID xTraceId) {
+    if (!log.isInfoEnabled()) {
+      return;
+    }
+    if (payloadLogSampler.sample()) {
+      log.info("Received {} request: {}, as of {}, x-trace-id: {}", operation, payload, asOf, xTraceId);
+    } else {
+      log.info("Received {} request as of {}, x-trace-id: {}", operation, asOf, xTraceId);
+    }
+  }
+
+  private static Instant toInstant(OffsetDateTime asOf) {
+    return asOf == null ? null : asOf.toInstant();
   }
 }
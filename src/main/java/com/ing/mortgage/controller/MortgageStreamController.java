@@ -0,0 +1,137 @@
+package com.ing.mortgage.controller;
+
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.service.AmortizationSchedule;
+import com.ing.mortgage.service.AmortizationScheduleService;
+import com.ing.mortgage.service.AmortizationScheduleWriter;
+import com.ing.mortgage.service.MortgageCheckStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+
+/**
+ * Streaming endpoints that do not fit the request/response operations generated from the OpenAPI specification.
+ * The schedule operations are declared in {@code MortgageAPIv1.yaml} with {@code x-internal: true}, so they are
+ * documented there but no interface is generated for them.
+ */
+@RestController
+@RequestMapping("${server.servletPath}")
+@RequiredArgsConstructor
+@Slf4j
+public class MortgageStreamController {
+
+  static final String TEXT_CSV_VALUE = "text/csv";
+  private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+  private final MortgageCheckStreamService mortgageCheckStreamService;
+  private final AmortizationScheduleService amortizationScheduleService;
+  private final AmortizationScheduleWriter amortizationScheduleWriter;
+  private final ContentNegotiationManager contentNegotiationManager;
+
+  /**
+   * Handles POST requests with newline-delimited JSON mortgage check requests and streams back one
+   * newline-delimited result per request, in order, as they complete.
+   *
+   * @param request the servlet request carrying the newline-delimited requests
+   * @param response the servlet response the results are streamed to
+   * @throws IOException if reading the requests or writing the results fails
+   */
+  @PostMapping(path = "/mortgage-check/stream",
+          consumes = MediaType.APPLICATION_NDJSON_VALUE,
+          produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void checkMortgageStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    log.info("Received mortgage check stream, x-trace-id: {}", request.getHeader(X_TRACE_ID));
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    long lines = mortgageCheckStreamService.checkMortgages(request.getInputStream(), response.getOutputStream());
+    log.info("Completed mortgage check stream with {} lines, x-trace-id: {}", lines, request.getHeader(X_TRACE_ID));
+  }
+
+  /**
+   * Handles GET requests for the amortization schedule of a loan and streams it month by month, as a JSON array
+   * or, if the client accepts {@code text/csv}, as CSV.
+   *
+   * @param loanValue the loan amount
+   * @param currency the currency of the loan
+   * @param maturityPeriod the number of monthly payments
+   * @param asOf the instant whose rates to use, or null for the current rates
+   * @param request the servlet request
+   * @param response the servlet response the schedule is streamed to
+   * @throws IOException if writing the schedule fails
+   * @throws HttpMediaTypeNotAcceptableException if the Accept header cannot be parsed
+   */
+  @GetMapping(path = "/mortgage-check/schedule", produces = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV_VALUE})
+  public void getSchedule(@RequestParam BigDecimal loanValue,
+                          @RequestParam Amount.CurrencyEnum currency,
+                          @RequestParam Integer maturityPeriod,
+                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime asOf,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+    writeSchedule(new Amount(loanValue, currency), maturityPeriod, asOf, request, response);
+  }
+
+  /**
+   * Handles POST requests for the amortization schedule of the loan in a mortgage check request and streams it
+   * month by month, as a JSON array or, if the client accepts {@code text/csv}, as CSV.
+   *
+   * @param mortgageCheckRequest the mortgage check request with the loan and maturity period
+   * @param asOf the instant whose rates to use, or null for the current rates
+   * @param request the servlet request
+   * @param response the servlet response the schedule is streamed to
+   * @throws IOException if writing the schedule fails
+   * @throws HttpMediaTypeNotAcceptableException if the Accept header cannot be parsed
+   */
+  @PostMapping(path = "/mortgage-check/schedule",
+          consumes = MediaType.APPLICATION_JSON_VALUE,
+          produces = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV_VALUE})
+  public void postSchedule(@Valid @RequestBody MortgageCheckRequest mortgageCheckRequest,
+                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime asOf,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+    writeSchedule(mortgageCheckRequest.getLoanValue(), mortgageCheckRequest.getMaturityPeriod(), asOf, request, response);
+  }
+
+  private void writeSchedule(Amount loanValue, Integer maturityPeriod, OffsetDateTime asOf,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+    log.info("Received amortization schedule request for {} over {} months as of {}, x-trace-id: {}",
+            loanValue, maturityPeriod, asOf, request.getHeader(X_TRACE_ID));
+    AmortizationSchedule schedule = amortizationScheduleService.getSchedule(loanValue, maturityPeriod, asOf == null ? null : asOf.toInstant());
+    if (acceptsCsv(request)) {
+      response.setContentType(TEXT_CSV_VALUE + ";charset=UTF-8");
+      amortizationScheduleWriter.writeCsv(schedule, response.getOutputStream());
+    } else {
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      amortizationScheduleWriter.writeJson(schedule, response.getOutputStream());
+    }
+  }
+
+  private boolean acceptsCsv(HttpServletRequest request) throws HttpMediaTypeNotAcceptableException {
+    // media types come sorted by quality and specificity; JSON wins when both are accepted equally
+    for (MediaType mediaType : contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request))) {
+      if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+        return false;
+      }
+      if (mediaType.includes(TEXT_CSV)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
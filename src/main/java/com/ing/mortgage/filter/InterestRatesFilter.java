@@ -0,0 +1,114 @@
+package com.ing.mortgage.filter;
+
+import com.ing.mortgage.service.InterestRatesRenderer;
+import com.ing.mortgage.service.RenderedInterestRates;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Serves {@code GET /interest-rates} from the response pre-rendered for the current rate table snapshot, with a
+ * strong {@code ETag} and a {@code Last-Modified} header. Conditional requests matching either are answered with
+ * 304 Not Modified. The trace ID is spliced into the pre-rendered bytes. Requests for past rates ({@code asOf}) and
+ * requests whose trace ID is not a UUID go on to the controller. Requests that negotiate CBOR get the same
+ * validators with a CBOR entity tag, and are rendered by the controller unless they are not modified.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class InterestRatesFilter extends OncePerRequestFilter {
+
+    private static final String AS_OF = "asOf";
+
+    private final InterestRatesRenderer interestRatesRenderer;
+    private final String interestRatesPath;
+
+    public InterestRatesFilter(InterestRatesRenderer interestRatesRenderer,
+                               @Value("${server.servletPath}") String servletPath) {
+        this.interestRatesRenderer = interestRatesRenderer;
+        this.interestRatesPath = servletPath + "/interest-rates";
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !request.getRequestURI().equals(request.getContextPath() + interestRatesPath)
+                || request.getParameter(AS_OF) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        UUID traceId = TraceContext.currentTraceId();
+        if (traceId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RenderedInterestRates rates = interestRatesRenderer.getRenderedInterestRates();
+        boolean cbor = prefersCbor(request);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String eTag = cbor ? cborETag(rates.eTag()) : rates.eTag();
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, rates.lastModified())) {
+            return;
+        }
+        if (cbor) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rates.contentLength());
+        rates.writeTo(response.getOutputStream(), traceId);
+    }
+
+    /**
+     * Decides whether content negotiation would choose CBOR over JSON, which the controller produces first.
+     *
+     * @param request the request
+     * @return true if the most preferred acceptable media type the API produces is CBOR
+     */
+    static boolean prefersCbor(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String cborETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-cbor\"";
+    }
+}
@@ -0,0 +1,25 @@
+package com.ing.mortgage.filter;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates random (version 4) UUIDs from {@link ThreadLocalRandom}. Unlike {@link UUID#randomUUID()}, which draws
+ * from a shared {@code SecureRandom}, threads do not contend; the IDs are unique but not unpredictable, which is
+ * all a trace ID needs.
+ */
+public class ThreadLocalRandomTraceIdGenerator implements TraceIdGenerator {
+
+    private static final long VERSION_MASK = 0xF000L;
+    private static final long VERSION_4 = 0x4000L;
+    private static final long VARIANT_MASK = 0xC000_0000_0000_0000L;
+    private static final long VARIANT_IETF = 0x8000_0000_0000_0000L;
+
+    @Override
+    public UUID generate() {
+        var random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~VERSION_MASK) | VERSION_4;
+        long leastSigBits = (random.nextLong() & ~VARIANT_MASK) | VARIANT_IETF;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
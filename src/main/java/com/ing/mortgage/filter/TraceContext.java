@@ -0,0 +1,65 @@
+package com.ing.mortgage.filter;
+
+import org.slf4j.MDC;
+
+import java.util.UUID;
+
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+
+/**
+ * The parsed trace ID of the request the current thread works for. {@link TraceIdFilter} binds it next to the
+ * {@code x-trace-id} MDC entry, and {@link com.ing.mortgage.configuration.MdcTaskDecorator} carries both to task
+ * threads, so the ID is parsed once per request instead of once per use.
+ */
+public final class TraceContext {
+
+    private static final ThreadLocal<UUID> TRACE_ID = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    /**
+     * Returns the trace ID bound to the current thread. Threads that only have the MDC entry, e.g. in tests, get it
+     * parsed from the MDC.
+     *
+     * @return the trace ID, or null if there is none or it is not a UUID
+     */
+    public static UUID currentTraceId() {
+        UUID traceId = TRACE_ID.get();
+        return traceId != null ? traceId : parse(MDC.get(X_TRACE_ID));
+    }
+
+    /**
+     * Binds a trace ID to the current thread.
+     *
+     * @param traceId the trace ID, or null to unbind it
+     */
+    public static void set(UUID traceId) {
+        if (traceId == null) {
+            TRACE_ID.remove();
+        } else {
+            TRACE_ID.set(traceId);
+        }
+    }
+
+    public static void clear() {
+        TRACE_ID.remove();
+    }
+
+    /**
+     * Parses a trace ID.
+     *
+     * @param traceId the trace ID as text
+     * @return the trace ID, or null if the text is null or not a UUID
+     */
+    public static UUID parse(String traceId) {
+        if (traceId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(traceId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
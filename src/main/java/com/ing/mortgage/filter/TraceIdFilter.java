@@ -2,22 +2,38 @@ package com.ing.mortgage.filter;
 
 import jakarta.servlet.*;
 import jakarta.servlet.annotation.WebFilter;
-import org.apache.catalina.connector.RequestFacade;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
 @WebFilter
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class TraceIdFilter implements Filter {
 
     public static final String X_TRACE_ID = "x-trace-id";
 
+    private final TraceIdGenerator traceIdGenerator;
+
+    public TraceIdFilter() {
+        this(Optional.empty());
+    }
+
+    @Autowired
+    public TraceIdFilter(Optional<TraceIdGenerator> traceIdGenerator) {
+        this.traceIdGenerator = traceIdGenerator.orElseGet(ThreadLocalRandomTraceIdGenerator::new);
+    }
+
     /**
-     * Adds or generates a trace ID for each incoming request and stores it in the MDC for logging.
-     * Removes the trace ID after the request is processed.
+     * Adds or generates a trace ID for each incoming request, stores it in the MDC for logging and binds the
+     * parsed ID to the {@link TraceContext}. Removes both after the request is processed, also when it fails.
      *
      * @param servletRequest the incoming servlet request
      * @param servletResponse the outgoing servlet response
@@ -27,9 +43,23 @@ public class TraceIdFilter implements Filter {
      */
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
-        var traceId = ((RequestFacade) servletRequest).getHeader(X_TRACE_ID);
-        MDC.put(X_TRACE_ID, traceId != null ? traceId : UUID.randomUUID().toString());
-        filterChain.doFilter(servletRequest, servletResponse);
-        MDC.remove(X_TRACE_ID);
+        String header = servletRequest instanceof HttpServletRequest httpServletRequest
+                ? httpServletRequest.getHeader(X_TRACE_ID)
+                : null;
+        UUID traceId;
+        if (header == null) {
+            traceId = traceIdGenerator.generate();
+            MDC.put(X_TRACE_ID, traceId.toString());
+        } else {
+            traceId = TraceContext.parse(header);
+            MDC.put(X_TRACE_ID, header);
+        }
+        TraceContext.set(traceId);
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            MDC.remove(X_TRACE_ID);
+            TraceContext.clear();
+        }
     }
 }
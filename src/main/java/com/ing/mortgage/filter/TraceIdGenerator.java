@@ -0,0 +1,16 @@
+package com.ing.mortgage.filter;
+
+import java.util.UUID;
+
+/**
+ * Generates the trace ID of a request that does not bring its own. Define a bean of this type to replace the
+ * default {@link ThreadLocalRandomTraceIdGenerator}, e.g. {@code UUID::randomUUID} for cryptographically strong IDs.
+ */
+@FunctionalInterface
+public interface TraceIdGenerator {
+
+    /**
+     * @return a new trace ID
+     */
+    UUID generate();
+}
@@ -0,0 +1,52 @@
+package com.ing.mortgage.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Exposes the dropped events and queue depth of every {@link DropCountingAsyncAppender} configured in Logback,
+ * tagged by appender name. Registers nothing when logging is synchronous.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DropCountingAsyncAppender appender : findAppenders()) {
+            FunctionCounter.builder("logging.events.dropped", appender, DropCountingAsyncAppender::getDroppedCount)
+                    .tag("appender", appender.getName())
+                    .description("The number of log events dropped because the asynchronous appender's queue was full")
+                    .register(registry);
+            Gauge.builder("logging.queue.size", appender, DropCountingAsyncAppender::getNumberOfElementsInQueue)
+                    .tag("appender", appender.getName())
+                    .description("The number of log events waiting to be written")
+                    .register(registry);
+        }
+    }
+
+    static List<DropCountingAsyncAppender> findAppenders() {
+        var appenders = new ArrayList<DropCountingAsyncAppender>();
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            for (Logger logger : loggerContext.getLoggerList()) {
+                for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                    if (it.next() instanceof DropCountingAsyncAppender appender && !appenders.contains(appender)) {
+                        appenders.add(appender);
+                    }
+                }
+            }
+        }
+        return appenders;
+    }
+}
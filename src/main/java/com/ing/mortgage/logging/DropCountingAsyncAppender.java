@@ -0,0 +1,35 @@
+package com.ing.mortgage.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops. With {@code neverBlock} set, logging threads never wait
+ * for the bounded queue: events that do not fit are dropped, as are discardable events (TRACE to INFO) once the
+ * remaining capacity falls to the discarding threshold. Plain {@code AsyncAppender} drops both silently.
+ * <p>
+ * The capacity is checked just before the event is queued, so an event dropped by a concurrent race for the last
+ * free slot is not counted; the count is a lower bound.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isNeverBlock()) {
+            int remainingCapacity = getRemainingCapacity();
+            if (remainingCapacity == 0 || (remainingCapacity < getDiscardingThreshold() && isDiscardable(event))) {
+                dropped.increment();
+                return;
+            }
+        }
+        super.append(event);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ing.mortgage.logging;
+
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MaxLoanRequest;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.PricingGridRequest;
+
+import java.util.function.Consumer;
+
+/**
+ * Renders request payloads as compact {@code key=value} fields for log messages. Rendering happens in
+ * {@link #toString()}, so a payload passed as a log argument is only rendered when the event is written, and
+ * never for disabled levels. The generated models' own {@code toString} is multi-line and much more expensive.
+ */
+public final class LogFields {
+
+    private final Consumer<StringBuilder> renderer;
+
+    private LogFields(Consumer<StringBuilder> renderer) {
+        this.renderer = renderer;
+    }
+
+    public static LogFields of(MortgageCheckRequest request) {
+        return new LogFields(builder -> {
+            appendAmount(builder.append("loanValue="), request.getLoanValue());
+            builder.append(", maturityPeriod=").append(request.getMaturityPeriod());
+            appendAmount(builder.append(", income="), request.getIncome());
+            appendAmount(builder.append(", homeValue="), request.getHomeValue());
+        });
+    }
+
+    public static LogFields of(MaxLoanRequest request) {
+        return new LogFields(builder -> {
+            builder.append("maturityPeriod=").append(request.getMaturityPeriod());
+            appendAmount(builder.append(", income="), request.getIncome());
+            appendAmount(builder.append(", homeValue="), request.getHomeValue());
+        });
+    }
+
+    public static LogFields of(PricingGridRequest request) {
+        return new LogFields(builder -> {
+            appendAmount(builder.append("minLoanValue="), request.getMinLoanValue());
+            appendAmount(builder.append(", maxLoanValue="), request.getMaxLoanValue());
+            builder.append(", loanValueStep=").append(request.getLoanValueStep());
+        });
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder(128);
+        renderer.accept(builder);
+        return builder.toString();
+    }
+
+    private static void appendAmount(StringBuilder builder, Amount amount) {
+        if (amount == null) {
+            builder.append("null");
+        } else {
+            builder.append(amount.getAmount()).append(' ').append(amount.getCurrency());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ing.mortgage.logging;
+
+import com.ing.mortgage.configuration.MortgageLoggingConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests are logged with their payload. One in {@code payloadSampleRate} requests is sampled;
+ * the others are logged without it, which keeps the request log but skips rendering the payload.
+ */
+@Component
+public class PayloadLogSampler {
+
+    private final int sampleRate;
+
+    public PayloadLogSampler(MortgageLoggingConfiguration mortgageLoggingConfiguration) {
+        this.sampleRate = mortgageLoggingConfiguration.getPayloadSampleRate();
+    }
+
+    public boolean sample() {
+        return sampleRate == 1 || (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ing.mortgage.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Writes the formatted message of an event for a double-quoted {@code msg="..."} field. Quotes and backslashes are
+ * escaped with a backslash and line breaks and tabs are written as {@code \n}, {@code \r} and {@code \t}, so a
+ * message containing them, such as a logged request payload or exception message, stays one parseable field on one
+ * line.
+ */
+public class QuotedMessageConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return escape(event.getFormattedMessage());
+    }
+
+    static String escape(String message) {
+        if (message == null) {
+            return "";
+        }
+        StringBuilder builder = null;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            String replacement = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> null;
+            };
+            if (replacement != null && builder == null) {
+                builder = new StringBuilder(message.length() + 16).append(message, 0, i);
+            }
+            if (builder != null) {
+                if (replacement != null) {
+                    builder.append(replacement);
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+        return builder == null ? message : builder.toString();
+    }
+}
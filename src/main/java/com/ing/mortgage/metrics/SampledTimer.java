@@ -0,0 +1,105 @@
+package com.ing.mortgage.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timer for hot code paths. Every call is counted exactly on a striped {@link LongAdder}, but only one in
+ * {@code sampleRate} calls is timed and recorded into a Micrometer {@link Timer} with a percentile histogram.
+ * Until the timer is registered with a {@link MeterRegistry} only the counters are kept. Neither starting nor
+ * stopping allocates.
+ * <pre>
+ * long start = timer.start();
+ * ...
+ * timer.stop(start);
+ * </pre>
+ */
+public final class SampledTimer {
+
+    public static final int DEFAULT_SAMPLE_RATE = 16;
+
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final String name;
+    private final String description;
+    private final Tags tags;
+    private final int sampleRate;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder sampledCalls = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private volatile Timer timer;
+
+    public SampledTimer(String name, String description, Tags tags, int sampleRate) {
+        this.name = name;
+        this.description = description;
+        this.tags = tags;
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    /**
+     * Counts a call and decides whether it is timed.
+     *
+     * @return the value to pass to {@link #stop(long)}
+     */
+    public long start() {
+        calls.increment();
+        if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            return System.nanoTime();
+        }
+        return NOT_SAMPLED;
+    }
+
+    /**
+     * Records the duration of a call if it was sampled.
+     *
+     * @param start the value returned by {@link #start()}
+     */
+    public void stop(long start) {
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        sampledNanos.add(nanos);
+        sampledCalls.increment();
+        Timer registeredTimer = timer;
+        if (registeredTimer != null) {
+            registeredTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Registers the timer for the sampled durations and a {@code <name>.calls} counter for the exact call count.
+     *
+     * @param registry the registry to register with
+     */
+    public void register(MeterRegistry registry) {
+        FunctionCounter.builder(name + ".calls", calls, LongAdder::sum)
+                .tags(tags)
+                .description("Exact number of calls, " + description)
+                .register(registry);
+        timer = Timer.builder(name)
+                .tags(tags)
+                .tag("sampleRate", String.valueOf(sampleRate))
+                .description("Sampled durations, " + description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return the average duration of the sampled calls in nanoseconds, zero if none was sampled
+     */
+    public double getAverageNanos() {
+        long count = sampledCalls.sum();
+        return count == 0 ? 0 : (double) sampledNanos.sum() / count;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ing.mortgage.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One month of an amortization schedule.
+ *
+ * @param month the month, starting at 1
+ * @param payment the payment of the month, principal plus interest
+ * @param principal the part of the payment that repays the loan
+ * @param interest the part of the payment that pays interest
+ * @param remainingBalance the loan balance after the payment
+ */
+public record AmortizationRow(int month, BigDecimal payment, BigDecimal principal, BigDecimal interest, BigDecimal remainingBalance) { }
@@ -0,0 +1,89 @@
+package com.ing.mortgage.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the mortgage rate table, sorted and indexed by maturity period.
+ * A snapshot is built once per rate change and can be shared freely between threads;
+ * lookups are a binary search over a primitive array and do not allocate.
+ */
+public final class MortgageRateTable {
+
+    private final long version;
+    private final int[] maturityPeriods;
+    private final MortgageRateDb[] rates;
+    private final List<MortgageRateDb> rateList;
+
+    private MortgageRateTable(long version, MortgageRateDb[] sortedRates) {
+        this.version = version;
+        this.rates = sortedRates;
+        this.maturityPeriods = new int[sortedRates.length];
+        for (int i = 0; i < sortedRates.length; i++) {
+            maturityPeriods[i] = sortedRates[i].maturityPeriod();
+        }
+        this.rateList = List.of(sortedRates);
+    }
+
+    /**
+     * Builds a snapshot from the given rates. The input list is copied and never modified.
+     *
+     * @param version the version of the snapshot, increasing with every rate change
+     * @param rates the mortgage rates in any order
+     * @return an immutable snapshot of the rates
+     */
+    public static MortgageRateTable of(long version, List<MortgageRateDb> rates) {
+        MortgageRateDb[] sortedRates = rates.toArray(MortgageRateDb[]::new);
+        Arrays.sort(sortedRates, Comparator.comparingInt(MortgageRateDb::maturityPeriod));
+        return new MortgageRateTable(version, sortedRates);
+    }
+
+    /**
+     * Finds the rate band for a maturity period: the exact match if there is one, otherwise the
+     * closest band below it. Periods below the first band use the first band, periods above the
+     * last band use the last band.
+     *
+     * @param maturityPeriod the maturity period in months
+     * @return the mortgage rate for the specified period
+     * @throws IllegalStateException if the table is empty
+     */
+    public MortgageRateDb findRate(int maturityPeriod) {
+        if (rates.length == 0) {
+            throw new IllegalStateException("No mortgage rates available");
+        }
+        // lower bound: first index whose maturity period is >= the requested one
+        int low = 0;
+        int high = maturityPeriods.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maturityPeriods[mid] < maturityPeriod) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low < maturityPeriods.length && maturityPeriods[low] == maturityPeriod) {
+            return rates[low];
+        }
+        return rates[Math.max(low - 1, 0)];
+    }
+
+    /**
+     * @return the rates of this snapshot sorted by maturity period, as an unmodifiable list
+     */
+    public List<MortgageRateDb> getRates() {
+        return rateList;
+    }
+
+    /**
+     * @return the version of this snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return rates.length == 0;
+    }
+}
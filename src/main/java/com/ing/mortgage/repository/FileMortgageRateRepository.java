@@ -0,0 +1,240 @@
+package com.ing.mortgage.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.configuration.MortgageRatesFileConfiguration;
+import com.ing.mortgage.metrics.SampledTimer;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads the mortgage rates from a JSON file and reloads them whenever the file changes. A new table is validated
+ * completely before it is published; an invalid file is logged and the current table stays in use. Every table is
+ * published as an immutable snapshot through a single atomic reference, so a check always sees one consistent table.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "mortgage.rates-file", name = "path")
+@Slf4j
+public class FileMortgageRateRepository implements MortgageRateRepository, MeterBinder, SmartLifecycle {
+
+    private static final TypeReference<List<MortgageRateDb>> RATES_TYPE = new TypeReference<>() { };
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final List<MortgageRatesListener> listeners;
+    private final AtomicReference<MortgageRateTable> rateTable = new AtomicReference<>();
+    private final SampledTimer reloadTimer = new SampledTimer("mortgage.rates.reload",
+            "reloads of the mortgage rates file", Tags.empty(), 1);
+    private final LongAdder failedReloads = new LongAdder();
+    private volatile WatchService watchService;
+
+    /**
+     * Loads the initial rates from the file.
+     *
+     * @param mortgageRatesFileConfiguration the location of the rates file
+     * @param objectMapper the mapper to read the file with
+     * @throws IllegalStateException if the file cannot be read or the rates in it are invalid
+     */
+    public FileMortgageRateRepository(MortgageRatesFileConfiguration mortgageRatesFileConfiguration, ObjectMapper objectMapper) {
+        this(mortgageRatesFileConfiguration, objectMapper, List.of());
+    }
+
+    /**
+     * Loads the initial rates from the file.
+     *
+     * @param mortgageRatesFileConfiguration the location of the rates file
+     * @param objectMapper the mapper to read the file with
+     * @param listeners notified of every published snapshot
+     * @throws IllegalStateException if the file cannot be read or the rates in it are invalid
+     */
+    @Autowired
+    public FileMortgageRateRepository(MortgageRatesFileConfiguration mortgageRatesFileConfiguration, ObjectMapper objectMapper,
+                                      List<MortgageRatesListener> listeners) {
+        this.path = mortgageRatesFileConfiguration.getPath().toAbsolutePath();
+        this.objectMapper = objectMapper;
+        this.listeners = List.copyOf(listeners);
+        try {
+            publish(readRates());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to load mortgage rates from " + path, e);
+        }
+    }
+
+    /**
+     * Retrieves the current list of mortgage rates, sorted by maturity period.
+     *
+     * @return a list of current mortgage rates
+     */
+    @Override
+    public List<MortgageRateDb> getCurrentMortgageRates() {
+        return rateTable.get().getRates();
+    }
+
+    /**
+     * Retrieves the current rate table snapshot.
+     *
+     * @return the current rate table snapshot
+     */
+    @Override
+    public MortgageRateTable getCurrentMortgageRateTable() {
+        return rateTable.get();
+    }
+
+    /**
+     * Reads and validates the rates file and publishes it as a new snapshot if the rates changed.
+     *
+     * @return true if a new snapshot was published
+     */
+    public boolean reload() {
+        long start = reloadTimer.start();
+        try {
+            List<MortgageRateDb> rates = readRates();
+            if (MortgageRateTable.of(0, rates).getRates().equals(getCurrentMortgageRates())) {
+                return false;
+            }
+            MortgageRateTable table = publish(rates);
+            log.info("Reloaded {} mortgage rates from {}, version {}", rates.size(), path, table.getVersion());
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            failedReloads.increment();
+            log.warn("Keeping mortgage rates version {}, {} is invalid: {}",
+                    getCurrentMortgageRateTable().getVersion(), path, e.getMessage());
+            return false;
+        } finally {
+            reloadTimer.stop(start);
+        }
+    }
+
+    private List<MortgageRateDb> readRates() throws IOException {
+        List<MortgageRateDb> rates = objectMapper.readValue(Files.readAllBytes(path), RATES_TYPE);
+        validate(rates);
+        return rates;
+    }
+
+    private MortgageRateTable publish(List<MortgageRateDb> rates) {
+        MortgageRateTable table = rateTable.updateAndGet(current -> MortgageRateTable.of(current == null ? 1 : current.getVersion() + 1, rates));
+        listeners.forEach(listener -> listener.onMortgageRatesPublished(table));
+        return table;
+    }
+
+    static void validate(List<MortgageRateDb> rates) {
+        if (rates == null || rates.isEmpty()) {
+            throw new IllegalArgumentException("no mortgage rates");
+        }
+        Set<Integer> maturityPeriods = new HashSet<>();
+        for (int i = 0; i < rates.size(); i++) {
+            MortgageRateDb rate = rates.get(i);
+            if (rate == null) {
+                throw new IllegalArgumentException("rates[" + i + "]: must not be null");
+            }
+            if (rate.maturityPeriod() == null || rate.maturityPeriod() < 1) {
+                throw new IllegalArgumentException("rates[" + i + "].maturityPeriod: must be greater than 0");
+            }
+            if (rate.interestRate() == null || rate.interestRate().compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("rates[" + i + "].interestRate: must be greater than or equal to 0");
+            }
+            if (rate.lastUpdate() == null) {
+                throw new IllegalArgumentException("rates[" + i + "].lastUpdate: must not be null");
+            }
+            if (!maturityPeriods.add(rate.maturityPeriod())) {
+                throw new IllegalArgumentException("rates[" + i + "].maturityPeriod: duplicate " + rate.maturityPeriod());
+            }
+        }
+    }
+
+    /**
+     * Registers the reload timer, the failed reload counter and the version of the current snapshot.
+     *
+     * @param registry the registry to register with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        reloadTimer.register(registry);
+        FunctionCounter.builder("mortgage.rates.reload.failures", failedReloads, LongAdder::sum)
+                .description("Reloads of the mortgage rates file rejected by validation")
+                .register(registry);
+        Gauge.builder("mortgage.rates.version", this, repository -> repository.getCurrentMortgageRateTable().getVersion())
+                .description("Version of the current mortgage rates snapshot")
+                .register(registry);
+    }
+
+    /**
+     * Starts watching the directory of the rates file for changes.
+     */
+    @Override
+    public void start() {
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            path.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+            Thread.ofPlatform().name("mortgage-rates-watcher").daemon().start(() -> watch(service));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to watch " + path, e);
+        }
+    }
+
+    private void watch(WatchService service) {
+        Path fileName = path.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    @Override
+    public void stop() {
+        WatchService service = watchService;
+        watchService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.warn("Failed to stop watching {}", path, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return watchService != null;
+    }
+}
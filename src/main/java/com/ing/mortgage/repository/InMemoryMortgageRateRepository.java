@@ -2,24 +2,59 @@ package com.ing.mortgage.repository;
 
 import com.ing.mortgage.configuration.MortgageRatesConfiguration;
 import com.ing.mortgage.model.MortgageRateDb;
-import lombok.RequiredArgsConstructor;
+import com.ing.mortgage.model.MortgageRateTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Repository
-@RequiredArgsConstructor
+@ConditionalOnExpression("'${mortgage.rates-file.path:}'.isEmpty()")
 public class InMemoryMortgageRateRepository implements MortgageRateRepository {
 
-    private final MortgageRatesConfiguration mortgageRatesConfiguration;
+    private final AtomicReference<MortgageRateTable> rateTable = new AtomicReference<>();
+    private final List<MortgageRatesListener> listeners;
+
+    public InMemoryMortgageRateRepository(MortgageRatesConfiguration mortgageRatesConfiguration) {
+        this(mortgageRatesConfiguration, List.of());
+    }
+
+    @Autowired
+    public InMemoryMortgageRateRepository(MortgageRatesConfiguration mortgageRatesConfiguration, List<MortgageRatesListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+        updateMortgageRates(Objects.requireNonNullElse(mortgageRatesConfiguration.getRates(), List.of()));
+    }
 
     /**
-     * Retrieves the current list of mortgage rates from configuration.
+     * Retrieves the current list of mortgage rates, sorted by maturity period.
      *
      * @return a list of current mortgage rates
      */
     @Override
     public List<MortgageRateDb> getCurrentMortgageRates() {
-        return mortgageRatesConfiguration.getRates();
+        return rateTable.get().getRates();
+    }
+
+    /**
+     * Retrieves the current rate table snapshot.
+     *
+     * @return the current rate table snapshot
+     */
+    @Override
+    public MortgageRateTable getCurrentMortgageRateTable() {
+        return rateTable.get();
+    }
+
+    /**
+     * Builds a new rate table snapshot from the given rates, publishes it atomically and notifies the listeners.
+     *
+     * @param rates the new mortgage rates
+     */
+    public void updateMortgageRates(List<MortgageRateDb> rates) {
+        MortgageRateTable table = rateTable.updateAndGet(current -> MortgageRateTable.of(current == null ? 1 : current.getVersion() + 1, rates));
+        listeners.forEach(listener -> listener.onMortgageRatesPublished(table));
     }
 }
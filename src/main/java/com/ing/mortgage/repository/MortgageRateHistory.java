@@ -0,0 +1,274 @@
+package com.ing.mortgage.repository;
+
+import com.ing.mortgage.configuration.MortgageRatesHistoryConfiguration;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only history of published rate tables in a memory-mapped file. Every table that differs from the previous
+ * one is appended as a block of fixed-width records, one per rate, which share the table's sequence number and
+ * effective instant:
+ * <pre>
+ * header: magic (int) | record size (int) | record count (long)
+ * record: effective epoch millis (long) | sequence (long) | last update epoch millis (long)
+ *         | unscaled interest rate (long) | maturity period (int) | interest rate scale (int)
+ * </pre>
+ * A table is effective from the latest {@code lastUpdate} of its rates. A table whose rates changed without a
+ * {@code lastUpdate} after the previous table's effective instant is effective from the time it was published, and
+ * always after the previous table, so the effective instants of the tables strictly increase and every table stays
+ * reachable. The records therefore are their own index: finding the table in
+ * effect at an instant is a binary search over the mapped records plus a scan of that table's block, with no
+ * per-record heap. Opening the file only reads the header and the last block.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "mortgage.rates-history", name = "path")
+@Slf4j
+public class MortgageRateHistory implements MortgageRatesListener, DisposableBean {
+
+    static final int MAGIC = 0x4D524831;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 40;
+
+    private static final int COUNT_OFFSET = 8;
+    private static final int EFFECTIVE = 0;
+    private static final int SEQUENCE = 8;
+    private static final int LAST_UPDATE = 16;
+    private static final int UNSCALED_RATE = 24;
+    private static final int MATURITY_PERIOD = 32;
+    private static final int RATE_SCALE = 36;
+    private static final long NO_LAST_UPDATE = Long.MIN_VALUE;
+
+    private final Path path;
+    private final Clock clock;
+    private final FileChannel channel;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile Mapping mapping;
+    private volatile Snapshot latest;
+    private volatile MortgageRateTable lastLookup;
+    private long lastRecordedVersion;
+
+    /**
+     * Opens the history file, creating it if it does not exist.
+     *
+     * @param mortgageRatesHistoryConfiguration the location and initial capacity of the history file
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalStateException if the file is not a rate history
+     */
+    @Autowired
+    public MortgageRateHistory(MortgageRatesHistoryConfiguration mortgageRatesHistoryConfiguration) throws IOException {
+        this(mortgageRatesHistoryConfiguration, Clock.systemUTC());
+    }
+
+    MortgageRateHistory(MortgageRatesHistoryConfiguration mortgageRatesHistoryConfiguration, Clock clock) throws IOException {
+        this.path = mortgageRatesHistoryConfiguration.getPath().toAbsolutePath();
+        this.clock = clock;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        long capacity = Math.max(size, HEADER_SIZE + (long) mortgageRatesHistoryConfiguration.getInitialCapacity() * RECORD_SIZE);
+        MappedByteBuffer buffer = map(capacity);
+        if (size == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, RECORD_SIZE);
+            buffer.putLong(COUNT_OFFSET, 0);
+            buffer.force(0, HEADER_SIZE);
+        } else if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != RECORD_SIZE) {
+            throw new IllegalStateException(path + " is not a mortgage rate history");
+        }
+        long count = buffer.getLong(COUNT_OFFSET);
+        if (count < 0 || HEADER_SIZE + count * RECORD_SIZE > Math.max(size, HEADER_SIZE)) {
+            throw new IllegalStateException(path + " is truncated");
+        }
+        mapping = new Mapping(buffer, (int) count);
+        if (count > 0) {
+            MortgageRateTable table = readTable(mapping, (int) count - 1);
+            latest = new Snapshot(table.getVersion(), effective(buffer, (int) count - 1), table);
+        }
+    }
+
+    /**
+     * Returns the rate table that was in effect at the given instant.
+     *
+     * @param asOf the instant
+     * @return the rate table in effect at that instant, or empty if the history has no table that early
+     */
+    public Optional<MortgageRateTable> getRatesAsOf(Instant asOf) {
+        long epochMillis = asOf.toEpochMilli();
+        Snapshot current = latest;
+        if (current != null && epochMillis >= current.effective()) {
+            return Optional.of(current.table());
+        }
+        Mapping records = mapping;
+        // upper bound: first record effective after the requested instant
+        int low = 0;
+        int high = records.count();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (effective(records.buffer(), mid) <= epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == 0) {
+            return Optional.empty();
+        }
+        int index = low - 1;
+        MortgageRateTable cached = lastLookup;
+        if (cached != null && cached.getVersion() == sequence(records.buffer(), index)) {
+            return Optional.of(cached);
+        }
+        MortgageRateTable table = readTable(records, index);
+        lastLookup = table;
+        return Optional.of(table);
+    }
+
+    /**
+     * Appends a published table unless its rates equal those of the latest table in the history.
+     *
+     * @param table the published snapshot
+     */
+    @Override
+    public void onMortgageRatesPublished(MortgageRateTable table) {
+        appendLock.lock();
+        try {
+            if (table.getVersion() <= lastRecordedVersion) {
+                return;
+            }
+            lastRecordedVersion = table.getVersion();
+            Snapshot current = latest;
+            if (table.isEmpty() || current != null && sameRatesAsStored(current.table().getRates(), table.getRates())) {
+                return;
+            }
+            append(table, current);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to append mortgage rates version {} to {}", table.getVersion(), path, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long size() {
+        return mapping.count();
+    }
+
+    private void append(MortgageRateTable table, Snapshot current) throws IOException {
+        List<MortgageRateDb> rates = table.getRates();
+        long sequence = current == null ? 1 : current.sequence() + 1;
+        long effective = rates.stream()
+                .map(MortgageRateDb::lastUpdate)
+                .filter(Objects::nonNull)
+                .mapToLong(Instant::toEpochMilli)
+                .max()
+                .orElseGet(clock::millis);
+        if (current != null && effective <= current.effective()) {
+            // the rates changed without a newer lastUpdate, so they only apply from now on
+            effective = Math.max(clock.millis(), current.effective() + 1);
+        }
+
+        Mapping records = mapping;
+        int first = records.count();
+        long end = HEADER_SIZE + (long) (first + rates.size()) * RECORD_SIZE;
+        // doubles the mapping, but never beyond what a MappedByteBuffer can address while the records still fit
+        MappedByteBuffer buffer = end <= records.buffer().capacity() ? records.buffer()
+                : map(Math.max(end, Math.min(Integer.MAX_VALUE, 2L * records.buffer().capacity())));
+        for (int i = 0; i < rates.size(); i++) {
+            MortgageRateDb rate = rates.get(i);
+            int offset = HEADER_SIZE + (first + i) * RECORD_SIZE;
+            buffer.putLong(offset + EFFECTIVE, effective);
+            buffer.putLong(offset + SEQUENCE, sequence);
+            buffer.putLong(offset + LAST_UPDATE, toStoredLastUpdate(rate.lastUpdate()));
+            buffer.putLong(offset + UNSCALED_RATE, rate.interestRate().unscaledValue().longValueExact());
+            buffer.putInt(offset + MATURITY_PERIOD, rate.maturityPeriod());
+            buffer.putInt(offset + RATE_SCALE, rate.interestRate().scale());
+        }
+        buffer.force(HEADER_SIZE + first * RECORD_SIZE, rates.size() * RECORD_SIZE);
+        // the records only count once the header says so
+        buffer.putLong(COUNT_OFFSET, first + rates.size());
+        buffer.force(0, HEADER_SIZE);
+
+        mapping = new Mapping(buffer, first + rates.size());
+        latest = new Snapshot(sequence, effective, MortgageRateTable.of(sequence, rates));
+    }
+
+    // lastUpdate is stored in milliseconds, so a table read back after a restart only has millisecond precision
+    private static boolean sameRatesAsStored(List<MortgageRateDb> stored, List<MortgageRateDb> rates) {
+        if (stored.size() != rates.size()) {
+            return false;
+        }
+        for (int i = 0; i < stored.size(); i++) {
+            MortgageRateDb storedRate = stored.get(i);
+            MortgageRateDb rate = rates.get(i);
+            if (!storedRate.maturityPeriod().equals(rate.maturityPeriod())
+                    || !storedRate.interestRate().equals(rate.interestRate())
+                    || toStoredLastUpdate(storedRate.lastUpdate()) != toStoredLastUpdate(rate.lastUpdate())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long toStoredLastUpdate(Instant lastUpdate) {
+        return lastUpdate == null ? NO_LAST_UPDATE : lastUpdate.toEpochMilli();
+    }
+
+    private MappedByteBuffer map(long capacity) throws IOException {
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException(path + " is full");
+        }
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private static MortgageRateTable readTable(Mapping records, int lastIndex) {
+        MappedByteBuffer buffer = records.buffer();
+        long sequence = sequence(buffer, lastIndex);
+        int first = lastIndex;
+        while (first > 0 && sequence(buffer, first - 1) == sequence) {
+            first--;
+        }
+        List<MortgageRateDb> rates = new ArrayList<>(lastIndex - first + 1);
+        for (int index = first; index <= lastIndex; index++) {
+            int offset = HEADER_SIZE + index * RECORD_SIZE;
+            long lastUpdate = buffer.getLong(offset + LAST_UPDATE);
+            rates.add(new MortgageRateDb(buffer.getInt(offset + MATURITY_PERIOD),
+                    BigDecimal.valueOf(buffer.getLong(offset + UNSCALED_RATE), buffer.getInt(offset + RATE_SCALE)),
+                    lastUpdate == NO_LAST_UPDATE ? null : Instant.ofEpochMilli(lastUpdate)));
+        }
+        return MortgageRateTable.of(sequence, rates);
+    }
+
+    private static long effective(MappedByteBuffer buffer, int index) {
+        return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE + EFFECTIVE);
+    }
+
+    private static long sequence(MappedByteBuffer buffer, int index) {
+        return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE + SEQUENCE);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        channel.close();
+    }
+
+    private record Mapping(MappedByteBuffer buffer, int count) { }
+
+    private record Snapshot(long sequence, long effective, MortgageRateTable table) { }
+}
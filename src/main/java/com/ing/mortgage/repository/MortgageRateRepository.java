@@ -1,9 +1,18 @@
 package com.ing.mortgage.repository;
 
 import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
 
 import java.util.List;
 
 public interface MortgageRateRepository {
     List<MortgageRateDb> getCurrentMortgageRates();
+
+    /**
+     * Returns the current immutable rate table snapshot. Implementations publish a new snapshot
+     * atomically whenever the rates change, so a caller always sees one consistent table.
+     *
+     * @return the current rate table snapshot
+     */
+    MortgageRateTable getCurrentMortgageRateTable();
 }
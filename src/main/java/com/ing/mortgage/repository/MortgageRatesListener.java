@@ -0,0 +1,17 @@
+package com.ing.mortgage.repository;
+
+import com.ing.mortgage.model.MortgageRateTable;
+
+/**
+ * Notified by a {@link MortgageRateRepository} after it published a new rate table snapshot.
+ */
+public interface MortgageRatesListener {
+
+    /**
+     * Called after a snapshot was published. Concurrent publishes may be reported out of order; the snapshot
+     * version tells which one is newer.
+     *
+     * @param table the published snapshot
+     */
+    void onMortgageRatesPublished(MortgageRateTable table);
+}
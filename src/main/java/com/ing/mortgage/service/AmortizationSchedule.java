@@ -0,0 +1,64 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.model.AmortizationRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the months of an annuity loan. Each row is computed from the balance left by the previous one:
+ * the interest is the balance times the monthly rate, rounded to cents, and the rest of the fixed monthly payment
+ * repays principal. The last month repays whatever balance is left, so the schedule always ends at zero. Only the
+ * current balance is kept, so a schedule takes constant memory whatever its length.
+ */
+public class AmortizationSchedule implements Iterator<AmortizationRow> {
+
+    private final BigDecimal monthlyInterestRate;
+    private final BigDecimal monthlyPayment;
+    private final int termMonths;
+    private BigDecimal balance;
+    private int month;
+
+    /**
+     * @param principal the loan amount
+     * @param monthlyInterestRate the monthly interest rate as a fraction
+     * @param monthlyPayment the fixed monthly payment
+     * @param termMonths the number of monthly payments
+     */
+    public AmortizationSchedule(BigDecimal principal, BigDecimal monthlyInterestRate, BigDecimal monthlyPayment, int termMonths) {
+        this.balance = principal.setScale(2, RoundingMode.HALF_UP);
+        this.monthlyInterestRate = monthlyInterestRate;
+        this.monthlyPayment = monthlyPayment.setScale(2, RoundingMode.HALF_UP);
+        this.termMonths = termMonths;
+    }
+
+    public BigDecimal getMonthlyPayment() {
+        return monthlyPayment;
+    }
+
+    public int getTermMonths() {
+        return termMonths;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return month < termMonths;
+    }
+
+    @Override
+    public AmortizationRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        month++;
+        BigDecimal interest = balance.multiply(monthlyInterestRate).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal principal = monthlyPayment.subtract(interest);
+        if (month == termMonths || principal.compareTo(balance) > 0) {
+            principal = balance;
+        }
+        balance = balance.subtract(principal);
+        return new AmortizationRow(month, principal.add(interest), principal, interest, balance);
+    }
+}
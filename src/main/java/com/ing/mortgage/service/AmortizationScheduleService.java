@@ -0,0 +1,47 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class AmortizationScheduleService {
+
+    static final int MAX_MATURITY_PERIOD = 1200;
+
+    private final InterestRatesService interestRatesService;
+
+    /**
+     * Creates the amortization schedule of a loan, at the interest rate and monthly payment a mortgage check
+     * would calculate for it. Business rules are not evaluated.
+     *
+     * @param loanValue the loan amount
+     * @param maturityPeriod the number of monthly payments
+     * @param asOf the instant whose rates to use, or null for the current rates
+     * @return the schedule, computed month by month as it is iterated
+     * @throws InvalidRequestException if the loan or maturity period is invalid or no rates are known
+     */
+    public AmortizationSchedule getSchedule(Amount loanValue, Integer maturityPeriod, Instant asOf) {
+        if (loanValue.getAmount() == null || loanValue.getAmount().compareTo(BigDecimal.ZERO) < 0) {
+            throw new InvalidRequestException("loanValue.amount: must be greater than or equal to 0");
+        }
+        if (maturityPeriod == null || maturityPeriod < 1 || maturityPeriod > MAX_MATURITY_PERIOD) {
+            throw new InvalidRequestException("maturityPeriod: must be between 1 and " + MAX_MATURITY_PERIOD);
+        }
+        var request = MortgageCheckRequest.builder()
+                .loanValue(loanValue)
+                .maturityPeriod(maturityPeriod)
+                .build();
+        BigDecimal interestRate = interestRatesService.getInterestRate(request, asOf);
+        Amount monthlyCosts = interestRatesService.calculateMonthlyCosts(request, interestRate);
+        return new AmortizationSchedule(loanValue.getAmount(),
+                InterestRatesService.toMonthlyInterestRate(interestRate),
+                monthlyCosts.getAmount(),
+                maturityPeriod);
+    }
+}
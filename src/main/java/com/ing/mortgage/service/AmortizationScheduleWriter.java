@@ -0,0 +1,81 @@
+package com.ing.mortgage.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.model.AmortizationRow;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams amortization schedules row by row as they are computed, so no schedule is ever held in memory.
+ */
+@Component
+public class AmortizationScheduleWriter {
+
+    static final String CSV_HEADER = "month,payment,principal,interest,remainingBalance";
+
+    private final JsonFactory jsonFactory;
+
+    public AmortizationScheduleWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Writes the schedule as a JSON array with one object per month.
+     *
+     * @param schedule the schedule to write
+     * @param outputStream the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    public void writeJson(AmortizationSchedule schedule, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            while (schedule.hasNext()) {
+                AmortizationRow row = schedule.next();
+                generator.writeStartObject();
+                generator.writeNumberField("month", row.month());
+                generator.writeNumberField("payment", row.payment());
+                generator.writeNumberField("principal", row.principal());
+                generator.writeNumberField("interest", row.interest());
+                generator.writeNumberField("remainingBalance", row.remainingBalance());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes the schedule as CSV with a header line and one line per month.
+     *
+     * @param schedule the schedule to write
+     * @param outputStream the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    public void writeCsv(AmortizationSchedule schedule, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (schedule.hasNext()) {
+            AmortizationRow row = schedule.next();
+            writer.write(Integer.toString(row.month()));
+            writer.write(',');
+            writer.write(row.payment().toPlainString());
+            writer.write(',');
+            writer.write(row.principal().toPlainString());
+            writer.write(',');
+            writer.write(row.interest().toPlainString());
+            writer.write(',');
+            writer.write(row.remainingBalance().toPlainString());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,113 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of annuity factors {@code I × (1 + I)^T ÷ ((1 + I)^T – 1)} per monthly interest rate and term.
+ * Only a handful of distinct rates exist at any time, so the expensive {@code pow} is computed once per
+ * (rate, term) instead of once per request. The cache is cleared whenever the rate table version changes.
+ */
+@Component
+public class AnnuityFactorCache implements MeterBinder {
+
+    /**
+     * Number of significant digits the factors are stored with. The relative error of a cached factor
+     * is below {@code 10^(1 - FACTOR_PRECISION)}.
+     */
+    static final int FACTOR_PRECISION = 50;
+    private static final MathContext FACTOR_CONTEXT = new MathContext(FACTOR_PRECISION, RoundingMode.HALF_EVEN);
+    private static final String CACHE_NAME = "annuityFactors";
+
+    private final int maxEntries;
+    private final Map<Key, BigDecimal> factors = new ConcurrentHashMap<>();
+    private final AtomicLong ratesVersion = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AnnuityFactorCache(MortgageCalculationConfiguration mortgageCalculationConfiguration) {
+        this.maxEntries = mortgageCalculationConfiguration.getAnnuityFactorCacheSize();
+    }
+
+    /**
+     * Returns the annuity factor for the given monthly interest rate and term, computing it on a miss.
+     *
+     * @param monthlyInterestRate the monthly interest rate, must not be zero
+     * @param termMonths the term in months
+     * @param ratesVersion the version of the current rate table; a new version clears the cache
+     * @return the annuity factor with {@link #FACTOR_PRECISION} significant digits
+     */
+    public BigDecimal getFactor(BigDecimal monthlyInterestRate, int termMonths, long ratesVersion) {
+        long cachedVersion = this.ratesVersion.get();
+        // factors do not depend on the table they were computed for, so a racing put of an
+        // older entry after the clear is harmless; clearing only drops rates that are no longer used
+        if (cachedVersion != ratesVersion && this.ratesVersion.compareAndSet(cachedVersion, ratesVersion)) {
+            factors.clear();
+        }
+
+        var key = new Key(monthlyInterestRate, termMonths);
+        BigDecimal factor = factors.get(key);
+        if (factor != null) {
+            hits.increment();
+            return factor;
+        }
+        misses.increment();
+        factor = computeFactor(monthlyInterestRate, termMonths);
+        if (factors.size() >= maxEntries) {
+            factors.clear();
+        }
+        factors.put(key, factor);
+        return factor;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return factors.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .description("The number of times the annuity factor cache returned a cached factor")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .description("The number of times the annuity factor cache had to compute a factor")
+                .register(registry);
+        Gauge.builder("cache.size", factors, Map::size)
+                .tag("cache", CACHE_NAME)
+                .description("The number of annuity factors in the cache")
+                .register(registry);
+    }
+
+    private static BigDecimal computeFactor(BigDecimal monthlyInterestRate, int termMonths) {
+        BigDecimal onePlusIToTheT = (BigDecimal.ONE.add(monthlyInterestRate)).pow(termMonths);
+        BigDecimal numerator = monthlyInterestRate.multiply(onePlusIToTheT);
+        BigDecimal denominator = onePlusIToTheT.subtract(BigDecimal.ONE);
+        return numerator.divide(denominator, FACTOR_CONTEXT);
+    }
+
+    private record Key(BigDecimal monthlyInterestRate, int termMonths) { }
+}
@@ -0,0 +1,95 @@
+package com.ing.mortgage.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
+import com.ing.mortgage.repository.MortgageRateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serializes the interest rates response once per rate table snapshot instead of once per request.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterestRatesRenderer {
+
+    private static final UUID TRACE_ID_PLACEHOLDER = new UUID(0, 0);
+    private static final int ETAG_BYTES = 16;
+
+    private final MortgageRateRepository mortgageRateRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<RenderedInterestRates> rendered = new AtomicReference<>();
+
+    /**
+     * Returns the rendered response of the current rate table snapshot, rendering it first if the rates changed.
+     *
+     * @return the rendered interest rates response
+     */
+    public RenderedInterestRates getRenderedInterestRates() {
+        MortgageRateTable table = mortgageRateRepository.getCurrentMortgageRateTable();
+        RenderedInterestRates current = rendered.get();
+        if (current != null && current.version() == table.getVersion()) {
+            return current;
+        }
+        RenderedInterestRates next = render(table);
+        rendered.accumulateAndGet(next, (previous, candidate) ->
+                previous == null || previous.version() < candidate.version() ? candidate : previous);
+        return next;
+    }
+
+    private RenderedInterestRates render(MortgageRateTable table) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(
+                    MortgageCheckService.toMortgageRatesResponse(table.getRates(), TRACE_ID_PLACEHOLDER));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render interest rates", e);
+        }
+        byte[] placeholder = TRACE_ID_PLACEHOLDER.toString().getBytes(StandardCharsets.US_ASCII);
+        int position = indexOf(json, placeholder);
+        if (position < 0) {
+            throw new IllegalStateException("Rendered interest rates have no trace ID");
+        }
+        long lastModified = table.getRates().stream()
+                .map(MortgageRateDb::lastUpdate)
+                .filter(Objects::nonNull)
+                .mapToLong(Instant::toEpochMilli)
+                .max()
+                .orElse(-1);
+        return new RenderedInterestRates(table.getVersion(),
+                Arrays.copyOfRange(json, 0, position),
+                Arrays.copyOfRange(json, position + placeholder.length, json.length),
+                eTag(json),
+                lastModified);
+    }
+
+    private static String eTag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static int indexOf(byte[] source, byte[] target) {
+        for (int i = 0; i + target.length <= source.length; i++) {
+            if (Arrays.equals(source, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
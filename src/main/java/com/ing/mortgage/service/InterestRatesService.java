@@ -1,22 +1,59 @@
 package com.ing.mortgage.service;
 
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.metrics.SampledTimer;
 import com.ing.mortgage.model.MortgageRateDb;
 import com.ing.mortgage.model.Amount;
 import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageRateTable;
+import com.ing.mortgage.repository.MortgageRateHistory;
 import com.ing.mortgage.repository.MortgageRateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Comparator;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
-public class InterestRatesService {
+public class InterestRatesService implements MeterBinder {
+
+    /**
+     * Payments at or above this amount are not representable to the cent as a double and always use the exact path.
+     */
+    static final double MAX_FAST_PAYMENT = 1e13;
+
+    /**
+     * Absolute error bound of a payment computed in double arithmetic, covering the rounding the exact calculation
+     * applies before rounding to cents.
+     */
+    static final double FAST_PAYMENT_ABSOLUTE_ERROR = 1e-6;
 
     private final MortgageRateRepository mortgageRateRepository;
+    private final AnnuityFactorCache annuityFactorCache;
+    private final MortgageCalculationConfiguration mortgageCalculationConfiguration;
+    private final Optional<MortgageRateHistory> mortgageRateHistory;
+    private final SampledTimer rateLookupTimer = new SampledTimer("mortgage.rate.lookup",
+            "rate table lookups", Tags.empty(), SampledTimer.DEFAULT_SAMPLE_RATE);
+    private final SampledTimer paymentCalculationTimer = new SampledTimer("mortgage.payment.calculation",
+            "monthly payment calculations", Tags.empty(), SampledTimer.DEFAULT_SAMPLE_RATE);
+
+    /**
+     * Registers the sampled timers for rate lookups and payment calculations.
+     *
+     * @param registry the registry to register with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rateLookupTimer.register(registry);
+        paymentCalculationTimer.register(registry);
+    }
 
     /**
      * Retrieves all current mortgage interest rates from the repository.
@@ -27,6 +64,26 @@ public class InterestRatesService {
         return mortgageRateRepository.getCurrentMortgageRates();
     }
 
+    /**
+     * Returns the version of the current rate table, which changes whenever the rates change.
+     *
+     * @return the version of the current rate table
+     */
+    public long getCurrentRatesVersion() {
+        return mortgageRateRepository.getCurrentMortgageRateTable().getVersion();
+    }
+
+    /**
+     * Retrieves the mortgage interest rates in effect at an instant.
+     *
+     * @param asOf the instant, or null for the current rates
+     * @return a list of mortgage rates
+     * @throws RatesNotAvailableException if no rates are known for the instant
+     */
+    public List<MortgageRateDb> getAllInterestRates(Instant asOf) {
+        return getMortgageRateTable(asOf).getRates();
+    }
+
     /**
      * Gets the interest rate for a given mortgage check request based on its maturity period.
      *
@@ -34,8 +91,19 @@ public class InterestRatesService {
      * @return the interest rate for the specified maturity period
      */
     public BigDecimal getInterestRate(MortgageCheckRequest mortgageCheckRequest) {
-        var currentMortgageRates = getMortgageRate(mortgageCheckRequest.getMaturityPeriod());
-        return currentMortgageRates.interestRate();
+        return getInterestRate(mortgageCheckRequest, null);
+    }
+
+    /**
+     * Gets the interest rate in effect at an instant for a given mortgage check request.
+     *
+     * @param mortgageCheckRequest the mortgage check request containing the maturity period
+     * @param asOf the instant, or null for the current rates
+     * @return the interest rate for the specified maturity period
+     * @throws RatesNotAvailableException if no rates are known for the instant
+     */
+    public BigDecimal getInterestRate(MortgageCheckRequest mortgageCheckRequest, Instant asOf) {
+        return getMortgageRate(mortgageCheckRequest.getMaturityPeriod(), asOf).interestRate();
     }
 
     // M = P × ((I × (1 + I)T) ÷ ((1 + I)T – 1))
@@ -51,29 +119,113 @@ public class InterestRatesService {
      * @return the calculated monthly payment
      */
     public Amount calculateMonthlyCosts(MortgageCheckRequest mortgageCheckRequest, BigDecimal interestRate) {
+        long start = paymentCalculationTimer.start();
+        try {
+            return Amount.builder()
+                    .amount(calculatePayment(mortgageCheckRequest, interestRate))
+                    .currency(mortgageCheckRequest.getLoanValue().getCurrency())
+                    .build();
+        } finally {
+            paymentCalculationTimer.stop(start);
+        }
+    }
 
+    private BigDecimal calculatePayment(MortgageCheckRequest mortgageCheckRequest, BigDecimal interestRate) {
         var principal = mortgageCheckRequest.getLoanValue().getAmount();
         int termMonths = mortgageCheckRequest.getMaturityPeriod();
-        var monthlyInterestRate = interestRate.divide(BigDecimal.valueOf(100 * 12), 10, RoundingMode.HALF_UP);
+        var monthlyInterestRate = toMonthlyInterestRate(interestRate);
 
-        BigDecimal amount;
         if (monthlyInterestRate.compareTo(BigDecimal.ZERO) == 0) {
-            amount = principal.divide(BigDecimal.valueOf(termMonths), RoundingMode.HALF_UP);
-        } else {
-
-            BigDecimal onePlusIToTheT = (BigDecimal.ONE.add(monthlyInterestRate)).pow(termMonths);
-            BigDecimal numerator = monthlyInterestRate.multiply(onePlusIToTheT);
-            BigDecimal denominator = onePlusIToTheT.subtract(BigDecimal.ONE);
-            amount = principal
-                    .multiply(numerator)
-                    .divide(denominator, RoundingMode.HALF_UP)
-                    .setScale(2, RoundingMode.HALF_UP);
+            return calculateZeroRatePayment(principal, termMonths);
         }
+        return mortgageCalculationConfiguration.getMode() == MortgageCalculationConfiguration.Mode.FAST
+                ? calculateFastPayment(principal, monthlyInterestRate, termMonths)
+                : calculateCachedPayment(principal, monthlyInterestRate, termMonths);
+    }
 
-        return Amount.builder()
-                .amount(amount)
-                .currency(mortgageCheckRequest.getLoanValue().getCurrency())
-                .build();
+    /**
+     * Converts an annual interest rate in percent to the monthly rate used in payment calculations.
+     *
+     * @param interestRate the annual interest rate in percent
+     * @return the monthly interest rate as a fraction, rounded to 10 decimals
+     */
+    public static BigDecimal toMonthlyInterestRate(BigDecimal interestRate) {
+        return interestRate.divide(BigDecimal.valueOf(100 * 12), 10, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal calculateCachedPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int termMonths) {
+        long ratesVersion = mortgageRateRepository.getCurrentMortgageRateTable().getVersion();
+        var factor = annuityFactorCache.getFactor(monthlyInterestRate, termMonths, ratesVersion);
+        return roundPayment(principal.multiply(factor), principal, monthlyInterestRate, termMonths);
+    }
+
+    /**
+     * Calculates the payment in double arithmetic. {@code (1 + I)^T – 1} is computed as {@code expm1(T × log1p(I))},
+     * which avoids the cancellation of {@code pow(1 + I, T) – 1}. Every step is accurate to a few ulps, except that the
+     * error of {@code T × log1p(I)} is amplified by its magnitude {@code g} in the exponential, so the relative error of
+     * the payment stays below {@code (16 + 8g)} ulps of 1.0. An absolute term covers the rounding the exact calculation
+     * applies before rounding to cents. When the interval spanned by the bound rounds to a single cent amount, that is
+     * the exact result; otherwise the exact path decides.
+     */
+    private BigDecimal calculateFastPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int termMonths) {
+        double rate = monthlyInterestRate.doubleValue();
+        double growth = termMonths * Math.log1p(rate);
+        double onePlusIToTheTMinusOne = Math.expm1(growth);
+        double payment = principal.doubleValue() * rate * (onePlusIToTheTMinusOne + 1) / onePlusIToTheTMinusOne;
+
+        if (Double.isFinite(payment) && payment >= 0 && payment < MAX_FAST_PAYMENT) {
+            double errorBound = payment * fastPaymentRelativeError(growth) + FAST_PAYMENT_ABSOLUTE_ERROR;
+            double lowerCents = Math.floor((payment - errorBound) * 100 + 0.5);
+            double upperCents = Math.floor((payment + errorBound) * 100 + 0.5);
+            if (lowerCents == upperCents) {
+                return BigDecimal.valueOf((long) lowerCents, 2);
+            }
+        }
+        return calculateCachedPayment(principal, monthlyInterestRate, termMonths);
+    }
+
+    /**
+     * Relative error bound of a payment computed in double arithmetic from {@code growth = T × log1p(I)}, as
+     * derived for {@link #calculateFastPayment(BigDecimal, BigDecimal, int)}.
+     *
+     * @param growth the term times the logarithm of one plus the monthly interest rate
+     * @return the relative error bound of the payment
+     */
+    static double fastPaymentRelativeError(double growth) {
+        return (16 + 8 * growth) * Math.ulp(1.0);
+    }
+
+    static BigDecimal calculateZeroRatePayment(BigDecimal principal, int termMonths) {
+        return principal.divide(BigDecimal.valueOf(termMonths), RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Rounds a payment computed from a cached annuity factor to cents. The cached factor is only accurate to
+     * {@link AnnuityFactorCache#FACTOR_PRECISION} digits, and the exact calculation rounds once at the scale of
+     * its dividend before rounding to cents. When the approximate payment lies so close to a half-cent boundary
+     * that either error could change the result, the exact calculation decides.
+     */
+    private static BigDecimal roundPayment(BigDecimal approximatePayment, BigDecimal principal,
+                                           BigDecimal monthlyInterestRate, int termMonths) {
+        BigDecimal errorBound = approximatePayment.abs()
+                .movePointLeft(AnnuityFactorCache.FACTOR_PRECISION - 1)
+                .add(BigDecimal.ONE.movePointLeft(principal.scale() + 20));
+        BigDecimal lower = approximatePayment.subtract(errorBound).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal upper = approximatePayment.add(errorBound).setScale(2, RoundingMode.HALF_UP);
+        if (lower.equals(upper)) {
+            return lower;
+        }
+        return calculateExactPayment(principal, monthlyInterestRate, termMonths);
+    }
+
+    static BigDecimal calculateExactPayment(BigDecimal principal, BigDecimal monthlyInterestRate, int termMonths) {
+        BigDecimal onePlusIToTheT = (BigDecimal.ONE.add(monthlyInterestRate)).pow(termMonths);
+        BigDecimal numerator = monthlyInterestRate.multiply(onePlusIToTheT);
+        BigDecimal denominator = onePlusIToTheT.subtract(BigDecimal.ONE);
+        return principal
+                .multiply(numerator)
+                .divide(denominator, RoundingMode.HALF_UP)
+                .setScale(2, RoundingMode.HALF_UP);
     }
 
     /**
@@ -83,19 +235,33 @@ public class InterestRatesService {
      * @return the mortgage rate for the specified period
      */
     public MortgageRateDb getMortgageRate(Integer maturityPeriod) {
-        List<MortgageRateDb> rates = mortgageRateRepository.getCurrentMortgageRates();
-        if (rates.isEmpty()) {
-            throw new IllegalStateException("No mortgage rates available");
+        return getMortgageRate(maturityPeriod, null);
+    }
+
+    /**
+     * Retrieves the mortgage rate in effect at an instant for a specific maturity period.
+     *
+     * @param maturityPeriod the maturity period in months
+     * @param asOf the instant, or null for the current rates
+     * @return the mortgage rate for the specified period
+     * @throws RatesNotAvailableException if no rates are known for the instant
+     */
+    public MortgageRateDb getMortgageRate(Integer maturityPeriod, Instant asOf) {
+        long start = rateLookupTimer.start();
+        try {
+            return getMortgageRateTable(asOf).findRate(maturityPeriod);
+        } finally {
+            rateLookupTimer.stop(start);
         }
-        rates.sort(Comparator.comparingInt(MortgageRateDb::maturityPeriod));
-        for (int i = 0; i < rates.size(); i++) {
-            MortgageRateDb current = rates.get(i);
-            MortgageRateDb next = (i + 1 < rates.size()) ? rates.get(i + 1) : null;
-            if (maturityPeriod <= current.maturityPeriod() ||
-                    (next != null && maturityPeriod < next.maturityPeriod())) {
-                return current;
-            }
+    }
+
+    private MortgageRateTable getMortgageRateTable(Instant asOf) {
+        if (asOf == null) {
+            return mortgageRateRepository.getCurrentMortgageRateTable();
         }
-        return rates.getLast();
+        return mortgageRateHistory
+                .orElseThrow(() -> new RatesNotAvailableException("asOf: mortgage rate history is not enabled"))
+                .getRatesAsOf(asOf)
+                .orElseThrow(() -> new RatesNotAvailableException("asOf: no mortgage rates known at " + asOf));
     }
 }
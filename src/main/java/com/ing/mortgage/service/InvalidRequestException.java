@@ -0,0 +1,12 @@
+package com.ing.mortgage.service;
+
+/**
+ * Thrown when a request is invalid in a way bean validation does not cover. The message has the form
+ * {@code "field: message"}, like the messages of validation errors.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
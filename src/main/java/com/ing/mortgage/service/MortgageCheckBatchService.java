@@ -0,0 +1,97 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.filter.TraceContext;
+import com.ing.mortgage.model.ErrorResponse;
+import com.ing.mortgage.model.MortgageCheckBatchResponse;
+import com.ing.mortgage.model.MortgageCheckBatchResult;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.ing.mortgage.configuration.ExecutorConfiguration.MORTGAGE_CHECK_EXECUTOR;
+
+@Service
+@Slf4j
+public class MortgageCheckBatchService {
+
+    private final MortgageCheckService mortgageCheckService;
+    private final Validator validator;
+    private final Executor mortgageCheckExecutor;
+
+    public MortgageCheckBatchService(MortgageCheckService mortgageCheckService,
+                                     Validator validator,
+                                     @Qualifier(MORTGAGE_CHECK_EXECUTOR) Executor mortgageCheckExecutor) {
+        this.mortgageCheckService = mortgageCheckService;
+        this.validator = validator;
+        this.mortgageCheckExecutor = mortgageCheckExecutor;
+    }
+
+    /**
+     * Validates and checks every request of a batch in parallel. Invalid requests and requests whose check
+     * fails are reported as errors of their own item and do not affect the other items.
+     *
+     * @param mortgageCheckRequests the mortgage check requests to evaluate
+     * @return a response with one result per request, in the order of the requests
+     */
+    public MortgageCheckBatchResponse checkMortgages(List<MortgageCheckRequest> mortgageCheckRequests) {
+        var traceId = TraceContext.currentTraceId();
+
+        List<CompletableFuture<MortgageCheckBatchResult>> futures = mortgageCheckRequests.stream()
+                .map(request -> CompletableFuture.supplyAsync(() -> checkMortgage(request, traceId), mortgageCheckExecutor))
+                .toList();
+
+        return MortgageCheckBatchResponse.builder()
+                .results(futures.stream().map(CompletableFuture::join).toList())
+                .traceId(traceId)
+                .build();
+    }
+
+    /**
+     * Validates and checks a single request of a batch or stream.
+     *
+     * @param mortgageCheckRequest the mortgage check request to evaluate, may be null
+     * @param traceId the trace ID reported in errors
+     * @return the response, or the error if the request is invalid or its check failed
+     */
+    public MortgageCheckBatchResult checkMortgage(MortgageCheckRequest mortgageCheckRequest, UUID traceId) {
+        if (mortgageCheckRequest == null) {
+            return errorResult("INVALID_REQUEST", "request: must not be null", traceId);
+        }
+        Set<ConstraintViolation<MortgageCheckRequest>> violations = validator.validate(mortgageCheckRequest);
+        if (!violations.isEmpty()) {
+            return errorResult("INVALID_REQUEST", getValidationMessage(violations), traceId);
+        }
+        try {
+            return MortgageCheckBatchResult.builder()
+                    .response(mortgageCheckService.checkMortgage(mortgageCheckRequest))
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("An error occurred in batch item: ", e);
+            return errorResult("INTERNAL_SERVER_ERROR", "An unexpected error occurred. Please try again later.", traceId);
+        }
+    }
+
+    // same "field: message" format GenericExceptionHandler returns for a single request
+    private static String getValidationMessage(Set<ConstraintViolation<MortgageCheckRequest>> violations) {
+        var violation = violations.stream()
+                .min(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .orElseThrow();
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static MortgageCheckBatchResult errorResult(String errorCode, String message, UUID traceId) {
+        return MortgageCheckBatchResult.builder()
+                .error(new ErrorResponse(errorCode, message, traceId))
+                .build();
+    }
+}
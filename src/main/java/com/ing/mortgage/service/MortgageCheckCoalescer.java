@@ -0,0 +1,120 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.MortgageCoalescingConfiguration;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of mortgage checks: while a check for a key is in flight, identical checks wait for its
+ * result instead of evaluating again. The first caller computes on its own thread; the others wait at most
+ * {@code mortgage.coalescing.maxWait} and then evaluate on their own, so a slow check never blocks its followers
+ * for longer than that. An exception of the shared computation is rethrown to every waiting caller.
+ */
+@Component
+@ConditionalOnProperty(prefix = "mortgage.coalescing", name = "enabled", havingValue = "true")
+@Slf4j
+public class MortgageCheckCoalescer implements MeterBinder {
+
+    private final Map<MortgageCheckKey, CompletableFuture<MortgageCheckResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public MortgageCheckCoalescer(MortgageCoalescingConfiguration mortgageCoalescingConfiguration) {
+        this.maxWaitNanos = mortgageCoalescingConfiguration.getMaxWait().toNanos();
+    }
+
+    /**
+     * Returns the result of the in-flight computation for the key, or computes it if there is none.
+     *
+     * @param key the normalized mortgage check
+     * @param computation evaluates the mortgage check; its result is shared and must not be modified
+     * @return the shared result
+     */
+    public MortgageCheckResponse execute(MortgageCheckKey key, Supplier<MortgageCheckResponse> computation) {
+        var call = new CompletableFuture<MortgageCheckResponse>();
+        CompletableFuture<MortgageCheckResponse> leader = inFlight.putIfAbsent(key, call);
+        if (leader == null) {
+            return compute(key, call, computation);
+        }
+        coalesced.increment();
+        return await(leader, computation);
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Registers counters for coalesced checks and waits that timed out, and a gauge for the in-flight keys.
+     *
+     * @param registry the registry to register with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("mortgage.check.coalesced", coalesced, LongAdder::sum)
+                .description("Mortgage checks answered by an identical in-flight check")
+                .register(registry);
+        FunctionCounter.builder("mortgage.check.coalesced.timeouts", timeouts, LongAdder::sum)
+                .description("Mortgage checks that stopped waiting for an identical in-flight check")
+                .register(registry);
+        Gauge.builder("mortgage.check.inflight", inFlight, Map::size)
+                .description("Distinct mortgage checks in flight")
+                .register(registry);
+    }
+
+    private MortgageCheckResponse compute(MortgageCheckKey key, CompletableFuture<MortgageCheckResponse> call,
+                                          Supplier<MortgageCheckResponse> computation) {
+        try {
+            MortgageCheckResponse response = computation.get();
+            call.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private MortgageCheckResponse await(CompletableFuture<MortgageCheckResponse> leader,
+                                        Supplier<MortgageCheckResponse> computation) {
+        try {
+            return leader.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced mortgage check failed", e.getCause());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.debug("Identical mortgage check still in flight after {} ms, evaluating independently", maxWaitNanos / 1_000_000);
+            return computation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return computation.get();
+        }
+    }
+}
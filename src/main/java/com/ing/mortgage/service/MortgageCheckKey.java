@@ -0,0 +1,33 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+
+import java.math.BigDecimal;
+
+/**
+ * Normalized identity of a mortgage check against one version of the rate table. Income and home value only take
+ * part in comparisons, so they are keyed by numeric value ({@code 1000} equals {@code 1000.00}). The loan value keeps
+ * its scale, because the payment for a zero interest rate is calculated at the scale of the loan value.
+ */
+record MortgageCheckKey(BigDecimal loanValue, Amount.CurrencyEnum loanCurrency, Integer maturityPeriod,
+                        BigDecimal income, Amount.CurrencyEnum incomeCurrency,
+                        BigDecimal homeValue, Amount.CurrencyEnum homeCurrency,
+                        long ratesVersion) {
+
+    static MortgageCheckKey of(MortgageCheckRequest mortgageCheckRequest, long ratesVersion) {
+        Amount loanValue = mortgageCheckRequest.getLoanValue();
+        Amount income = mortgageCheckRequest.getIncome();
+        Amount homeValue = mortgageCheckRequest.getHomeValue();
+        return new MortgageCheckKey(
+                loanValue == null ? null : loanValue.getAmount(), loanValue == null ? null : loanValue.getCurrency(),
+                mortgageCheckRequest.getMaturityPeriod(),
+                income == null ? null : normalize(income.getAmount()), income == null ? null : income.getCurrency(),
+                homeValue == null ? null : normalize(homeValue.getAmount()), homeValue == null ? null : homeValue.getCurrency(),
+                ratesVersion);
+    }
+
+    private static BigDecimal normalize(BigDecimal amount) {
+        return amount == null ? null : amount.stripTrailingZeros();
+    }
+}
@@ -1,26 +1,51 @@
 package com.ing.mortgage.service;
 
 import com.ing.mortgage.businessrules.RulesEngine;
-import com.ing.mortgage.businessrules.RuleResult;
+import com.ing.mortgage.filter.TraceContext;
+import com.ing.mortgage.metrics.SampledTimer;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MaxLoanRequest;
+import com.ing.mortgage.model.MaxLoanResponse;
 import com.ing.mortgage.model.MortgageCheckRequest;
 import com.ing.mortgage.model.MortgageCheckResponse;
+import com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum;
 import com.ing.mortgage.model.MortgageRate;
+import com.ing.mortgage.model.MortgageRateDb;
 import com.ing.mortgage.model.MortgageRatesResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
-import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-
-import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
-public class MortgageCheckService {
+public class MortgageCheckService implements MeterBinder {
 
     private final InterestRatesService interestRatesService;
     private final RulesEngine rulesEngine;
+    private final Optional<MortgageDecisionCache> decisionCache;
+    private final Optional<MortgageCheckCoalescer> coalescer;
+    private final SampledTimer checkTimer = new SampledTimer("mortgage.check",
+            "mortgage checks", Tags.empty(), SampledTimer.DEFAULT_SAMPLE_RATE);
+
+    /**
+     * Registers the sampled timer for complete mortgage checks.
+     *
+     * @param registry the registry to register with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        checkTimer.register(registry);
+    }
 
     /**
      * Retrieves all current mortgage interest rates and maps them to the API response format.
@@ -28,14 +53,33 @@ public class MortgageCheckService {
      * @return a response containing all mortgage rates and the trace ID
      */
     public MortgageRatesResponse getAllInterestRates() {
-        var allRates = interestRatesService.getAllInterestRates();
+        return getAllInterestRates(null);
+    }
 
+    /**
+     * Retrieves the mortgage interest rates in effect at an instant and maps them to the API response format.
+     *
+     * @param asOf the instant, or null for the current rates
+     * @return a response containing the mortgage rates and the trace ID
+     */
+    public MortgageRatesResponse getAllInterestRates(Instant asOf) {
+        return toMortgageRatesResponse(interestRatesService.getAllInterestRates(asOf), TraceContext.currentTraceId());
+    }
+
+    /**
+     * Maps mortgage rates to the API response format.
+     *
+     * @param allRates the mortgage rates
+     * @param traceId the trace ID of the response
+     * @return a response containing the mortgage rates and the trace ID
+     */
+    static MortgageRatesResponse toMortgageRatesResponse(List<MortgageRateDb> allRates, UUID traceId) {
         var rates = allRates.stream().map(rate -> MortgageRate.builder()
                 .maturityPeriod(rate.maturityPeriod())
                 .interestRate(rate.interestRate())
                 .build()).toList();
 
-        return MortgageRatesResponse.builder().rates((List<MortgageRate>) rates).traceId(UUID.fromString(MDC.get(X_TRACE_ID))).build();
+        return MortgageRatesResponse.builder().rates((List<MortgageRate>) rates).traceId(traceId).build();
     }
 
     /**
@@ -45,18 +89,100 @@ public class MortgageCheckService {
      * @return a response indicating feasibility, errors, and costs
      */
     public MortgageCheckResponse checkMortgage(MortgageCheckRequest mortgageCheckRequest) {
+        return checkMortgage(mortgageCheckRequest, null);
+    }
 
-        List<RuleResult> ruleResults = rulesEngine.evaluateRules(mortgageCheckRequest);
-        boolean allRulesPassed = ruleResults.stream().allMatch(RuleResult::passed);
+    /**
+     * Checks mortgage feasibility against the mortgage rates in effect at an instant. Checks against the current
+     * rates share the result of an identical check that is in flight, and with the decision cache enabled are
+     * answered from the cache when possible; either way the response carries the caller's trace ID.
+     *
+     * @param mortgageCheckRequest the mortgage check request to evaluate
+     * @param asOf the instant, or null for the current rates
+     * @return a response indicating feasibility, errors, and costs
+     */
+    public MortgageCheckResponse checkMortgage(MortgageCheckRequest mortgageCheckRequest, Instant asOf) {
+        long start = checkTimer.start();
+        try {
+            var traceId = TraceContext.currentTraceId();
+            if (asOf != null || (decisionCache.isEmpty() && coalescer.isEmpty())) {
+                return evaluateMortgage(mortgageCheckRequest, asOf, traceId);
+            }
+            return withTraceId(checkMortgageShared(mortgageCheckRequest), traceId);
+        } finally {
+            checkTimer.stop(start);
+        }
+    }
+
+    /**
+     * Returns a result that may be shared with other callers and must be copied before it is returned. The rate
+     * table version is read before the evaluation, so a result is never shared under a version older than the
+     * rates it was calculated with.
+     */
+    private MortgageCheckResponse checkMortgageShared(MortgageCheckRequest mortgageCheckRequest) {
+        var key = MortgageCheckKey.of(mortgageCheckRequest, interestRatesService.getCurrentRatesVersion());
+        if (decisionCache.isPresent()) {
+            MortgageCheckResponse cached = decisionCache.get().get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Supplier<MortgageCheckResponse> computation = () -> {
+            MortgageCheckResponse response = evaluateMortgage(mortgageCheckRequest, null, null);
+            decisionCache.ifPresent(cache -> cache.put(key, response));
+            return response;
+        };
+        return coalescer.isPresent() ? coalescer.get().execute(key, computation) : computation.get();
+    }
+
+    // the shared response stays with the cache or the other callers, so its mutable parts are copied too
+    private static MortgageCheckResponse withTraceId(MortgageCheckResponse response, UUID traceId) {
+        Amount monthlyCosts = response.getMonthlyCosts();
+        List<ErrorCodesEnum> errorCodes = response.getErrorCodes();
+        return MortgageCheckResponse.builder()
+                .feasible(response.getFeasible())
+                .monthlyCosts(monthlyCosts == null ? null : new Amount(monthlyCosts.getAmount(), monthlyCosts.getCurrency()))
+                .errorCodes(errorCodes == null ? null : new ArrayList<>(errorCodes))
+                .traceId(traceId)
+                .build();
+    }
+
+    /**
+     * Finds the largest loan, in the currency of the income, that passes all business rules and checks it against
+     * the mortgage rates in effect at an instant. If no loan is feasible, the check of a zero loan reports why.
+     *
+     * @param maxLoanRequest the income, home value and maturity period to find the maximum loan for
+     * @param asOf the instant, or null for the current rates
+     * @return the maximum loan, if any, with the mortgage check result for it
+     */
+    public MaxLoanResponse findMaxLoan(MaxLoanRequest maxLoanRequest, Instant asOf) {
+        var currency = maxLoanRequest.getIncome().getCurrency();
+        var mortgageCheckRequest = MortgageCheckRequest.builder()
+                .loanValue(new Amount(BigDecimal.ZERO, currency))
+                .maturityPeriod(maxLoanRequest.getMaturityPeriod())
+                .income(maxLoanRequest.getIncome())
+                .homeValue(maxLoanRequest.getHomeValue())
+                .build();
+        Optional<Amount> maxLoanValue = rulesEngine.findMaxLoanValue(mortgageCheckRequest)
+                .map(value -> new Amount(value, currency));
+        maxLoanValue.ifPresent(mortgageCheckRequest::setLoanValue);
+
+        var mortgageCheck = checkMortgage(mortgageCheckRequest, asOf);
+        return MaxLoanResponse.builder()
+                .maxLoanValue(maxLoanValue.orElse(null))
+                .mortgageCheck(mortgageCheck)
+                .traceId(mortgageCheck.getTraceId())
+                .build();
+    }
 
-        String stringTraceId = MDC.get(X_TRACE_ID);
-        var traceId = stringTraceId != null ? UUID.fromString(stringTraceId) : null;
+    private MortgageCheckResponse evaluateMortgage(MortgageCheckRequest mortgageCheckRequest, Instant asOf, UUID traceId) {
+        long failures = rulesEngine.evaluateFailures(mortgageCheckRequest);
 
-        if (!allRulesPassed) {
-            return getFailedMortgageCheckResponse(ruleResults, traceId);
+        if (failures != 0) {
+            return getFailedMortgageCheckResponse(failures, traceId);
         }
 
-        var interestRate = interestRatesService.getInterestRate(mortgageCheckRequest);
+        var interestRate = interestRatesService.getInterestRate(mortgageCheckRequest, asOf);
         return MortgageCheckResponse.builder()
                 .feasible(true)
                 .monthlyCosts(interestRatesService.calculateMonthlyCosts(mortgageCheckRequest, interestRate))
@@ -64,13 +190,10 @@ public class MortgageCheckService {
                 .build();
     }
 
-    private static MortgageCheckResponse getFailedMortgageCheckResponse(List<RuleResult> ruleResults, UUID traceId) {
+    private static MortgageCheckResponse getFailedMortgageCheckResponse(long failures, UUID traceId) {
         return MortgageCheckResponse.builder()
                 .feasible(false)
-                .errorCodes(ruleResults.stream()
-                        .filter(result -> !result.passed())
-                        .map(RuleResult::errorCode)
-                        .toList())
+                .errorCodes(RulesEngine.toErrorCodes(failures))
                 .traceId(traceId)
                 .build();
     }
@@ -0,0 +1,138 @@
+package com.ing.mortgage.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.InputCoercionException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ing.mortgage.configuration.MortgageBatchConfiguration;
+import com.ing.mortgage.filter.TraceContext;
+import com.ing.mortgage.model.ErrorResponse;
+import com.ing.mortgage.model.MortgageCheckBatchResult;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static com.ing.mortgage.configuration.ExecutorConfiguration.MORTGAGE_CHECK_EXECUTOR;
+
+@Service
+@Slf4j
+public class MortgageCheckStreamService {
+
+    private final MortgageCheckBatchService mortgageCheckBatchService;
+    private final Executor mortgageCheckExecutor;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final int maxInFlight;
+
+    public MortgageCheckStreamService(MortgageCheckBatchService mortgageCheckBatchService,
+                                      @Qualifier(MORTGAGE_CHECK_EXECUTOR) Executor mortgageCheckExecutor,
+                                      ObjectMapper objectMapper,
+                                      MortgageBatchConfiguration mortgageBatchConfiguration) {
+        this.mortgageCheckBatchService = mortgageCheckBatchService;
+        this.mortgageCheckExecutor = mortgageCheckExecutor;
+        this.requestReader = objectMapper.readerFor(MortgageCheckRequest.class);
+        this.resultWriter = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.maxInFlight = 2 * mortgageBatchConfiguration.getParallelism();
+    }
+
+    /**
+     * Reads newline-delimited JSON mortgage check requests and writes one line per request, in order: the
+     * {@code MortgageCheckResponse}, or an {@code ErrorResponse} if the request is invalid. At most a fixed number
+     * of requests is in flight, so memory stays constant regardless of the input size, and a slow reader of the
+     * output stops further input from being read. A well-formed line that cannot be mapped to a request, e.g. one
+     * with an unknown currency, gets an error line of its own; malformed JSON ends the stream with an error line.
+     *
+     * @param inputStream the newline-delimited requests
+     * @param outputStream the stream the newline-delimited results are written to
+     * @return the number of lines written
+     * @throws IOException if reading the input or writing the output fails
+     */
+    public long checkMortgages(InputStream inputStream, OutputStream outputStream) throws IOException {
+        var traceId = TraceContext.currentTraceId();
+
+        Queue<CompletableFuture<MortgageCheckBatchResult>> inFlight = new ArrayDeque<>(maxInFlight);
+        long count = 0;
+        try (MappingIterator<MortgageCheckRequest> requests = requestReader.readValues(inputStream);
+             SequenceWriter results = resultWriter.writeValues(outputStream)) {
+            try {
+                while (requests.hasNextValue()) {
+                    try {
+                        MortgageCheckRequest request = requests.nextValue();
+                        inFlight.add(CompletableFuture.supplyAsync(
+                                () -> mortgageCheckBatchService.checkMortgage(request, traceId), mortgageCheckExecutor));
+                    } catch (JsonMappingException | InputCoercionException e) {
+                        // the iterator skips the rest of this value and reads the next one
+                        log.warn("Invalid mortgage check stream line {}: {}", count + 1, e.getOriginalMessage());
+                        inFlight.add(CompletableFuture.completedFuture(MortgageCheckBatchResult.builder()
+                                .error(new ErrorResponse("INVALID_REQUEST", invalidValueMessage(count + 1, e), traceId))
+                                .build()));
+                    }
+                    count++;
+                    writeCompleted(inFlight, results, maxInFlight - 1);
+                    if (inputStream.available() == 0) {
+                        // the next read may block, so hand the client what is already done
+                        results.flush();
+                    }
+                }
+                writeCompleted(inFlight, results, 0);
+            } catch (JsonParseException e) {
+                log.warn("Malformed mortgage check stream after {} requests: {}", count, e.getOriginalMessage());
+                writeCompleted(inFlight, results, 0);
+                results.write(new ErrorResponse("INVALID_REQUEST", "line " + (count + 1) + ": malformed JSON", traceId));
+                count++;
+            }
+            results.flush();
+            if (count > 0) {
+                outputStream.write('\n');
+            }
+        }
+        outputStream.flush();
+        return count;
+    }
+
+    // "line 2: loanValue.currency: invalid value"
+    private static String invalidValueMessage(long line, JsonProcessingException e) {
+        String field = e instanceof JsonMappingException mappingException
+                ? mappingException.getPath().stream()
+                        .map(JsonMappingException.Reference::getFieldName)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.joining("."))
+                : "";
+        return "line " + line + ": " + (field.isEmpty() ? "" : field + ": ") + "invalid value";
+    }
+
+    /**
+     * Writes results in request order: every completed result at the head of the queue, and beyond that waits
+     * for results until no more than {@code maxPending} remain in flight.
+     */
+    private static void writeCompleted(Queue<CompletableFuture<MortgageCheckBatchResult>> inFlight,
+                                       SequenceWriter results, int maxPending) throws IOException {
+        CompletableFuture<MortgageCheckBatchResult> head;
+        while ((head = inFlight.peek()) != null && (head.isDone() || inFlight.size() > maxPending)) {
+            if (!head.isDone()) {
+                results.flush();
+            }
+            MortgageCheckBatchResult result = inFlight.remove().join();
+            results.write(result.getResponse() != null ? result.getResponse() : result.getError());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.ing.mortgage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.businessrules.MortgageBusinessRule;
+import com.ing.mortgage.businessrules.RulesEngine;
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.configuration.MortgageWarmupConfiguration;
+import com.ing.mortgage.configuration.RulesEngineConfiguration;
+import com.ing.mortgage.filter.TraceContext;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.repository.MortgageRateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Runs synthetic mortgage checks at startup, so that the check path is compiled before the instance takes traffic.
+ * Every iteration reads a request with the JSON converter that serves {@code /mortgage-check}, checks it and writes
+ * the response. The requests cover every maturity of the rate table, every currency and every combination of rule
+ * outcomes.
+ * <p>
+ * Application runners complete before Spring Boot reports the readiness state {@code ACCEPTING_TRAFFIC}, so the
+ * readiness probe is UP only after the warmup ends: after {@code iterations} checks, once the latency per round
+ * has converged, or after {@code maxDuration}.
+ * <p>
+ * The checks run on a private {@link MortgageCheckService} with its own rule statistics and annuity factor cache
+ * and without decision cache, coalescer or registered meters. The same code is compiled, but the metrics, caches
+ * and adaptive rule order of the application are not touched and nothing is logged per check.
+ */
+@Component
+@ConditionalOnProperty(prefix = "mortgage.warmup", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class MortgageCheckWarmup implements ApplicationRunner {
+
+    private static final long SEED = 20250101L;
+    private static final int VARIANTS = 8;
+    private static final BigDecimal FOUR = BigDecimal.valueOf(4);
+
+    private final MortgageWarmupConfiguration mortgageWarmupConfiguration;
+    private final MortgageRateRepository mortgageRateRepository;
+    private final MortgageCalculationConfiguration mortgageCalculationConfiguration;
+    private final List<MortgageBusinessRule> mortgageRules;
+    private final RulesEngineConfiguration rulesEngineConfiguration;
+    private final HttpMessageConverters httpMessageConverters;
+    private final ObjectMapper objectMapper;
+
+    public enum StopReason {
+        CONVERGED, ITERATIONS, TIME_LIMIT, NO_RATES
+    }
+
+    /**
+     * @param iterations the number of checks run
+     * @param stopReason why the warmup ended
+     * @param averageNanos the average time per check of the last, possibly partial, round
+     */
+    public record Result(int iterations, StopReason stopReason, double averageNanos) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long start = System.nanoTime();
+        Result result = warmUp();
+        log.info("Warmed up mortgage checks: {} iterations in {} ms, {} µs per check, stopped on {}", result.iterations(),
+                (System.nanoTime() - start) / 1_000_000, Math.round(result.averageNanos() / 1_000), result.stopReason());
+    }
+
+    /**
+     * Runs the synthetic checks in rounds of {@code roundSize} until the iteration target, the latency convergence
+     * or the time limit is reached. The time limit is checked after every check, so it can end a round early.
+     *
+     * @return the number of checks run and why the warmup ended
+     * @throws IOException if a request cannot be read or a response cannot be written
+     */
+    public Result warmUp() throws IOException {
+        var rulesEngine = new RulesEngine(mortgageRules, rulesEngineConfiguration);
+        var interestRatesService = new InterestRatesService(mortgageRateRepository,
+                new AnnuityFactorCache(mortgageCalculationConfiguration), mortgageCalculationConfiguration, Optional.empty());
+        var mortgageCheckService = new MortgageCheckService(interestRatesService, rulesEngine, Optional.empty(), Optional.empty());
+        HttpMessageConverter<Object> reader = converter(c -> c.canRead(MortgageCheckRequest.class, MediaType.APPLICATION_JSON));
+        HttpMessageConverter<Object> writer = converter(c -> c.canWrite(MortgageCheckResponse.class, MediaType.APPLICATION_JSON));
+
+        List<byte[]> bodies = new ArrayList<>();
+        List<Integer> maturityPeriods = mortgageRateRepository.getCurrentMortgageRates().stream()
+                .map(MortgageRateDb::maturityPeriod)
+                .toList();
+        for (MortgageCheckRequest request : syntheticRequests(maturityPeriods)) {
+            bodies.add(objectMapper.writeValueAsBytes(request));
+        }
+        if (bodies.isEmpty()) {
+            return new Result(0, StopReason.NO_RATES, 0);
+        }
+
+        int targetIterations = mortgageWarmupConfiguration.getIterations();
+        int roundSize = Math.max(mortgageWarmupConfiguration.getRoundSize(), 1);
+        double tolerance = mortgageWarmupConfiguration.getConvergenceTolerance();
+        long deadline = System.nanoTime() + mortgageWarmupConfiguration.getMaxDuration().toNanos();
+        int iterations = 0;
+        int stableRounds = 0;
+        double previousAverage = 0;
+        double average = 0;
+        TraceContext.set(UUID.randomUUID());
+        try {
+            while (iterations < targetIterations) {
+                int round = Math.min(roundSize, targetIterations - iterations);
+                long start = System.nanoTime();
+                int checks = 0;
+                boolean timeLimitReached = false;
+                while (checks < round && !timeLimitReached) {
+                    byte[] body = bodies.get((iterations + checks) % bodies.size());
+                    var request = (MortgageCheckRequest) reader.read(MortgageCheckRequest.class, new InputMessage(body));
+                    writer.write(mortgageCheckService.checkMortgage(request), MediaType.APPLICATION_JSON, new OutputMessage());
+                    checks++;
+                    timeLimitReached = System.nanoTime() - deadline >= 0;
+                }
+                average = (double) (System.nanoTime() - start) / checks;
+                iterations += checks;
+                if (timeLimitReached) {
+                    return new Result(iterations, StopReason.TIME_LIMIT, average);
+                }
+
+                boolean stable = previousAverage > 0 && Math.abs(average - previousAverage) <= tolerance * previousAverage;
+                stableRounds = stable ? stableRounds + 1 : 0;
+                previousAverage = average;
+                if (tolerance > 0 && stableRounds >= mortgageWarmupConfiguration.getStableRounds()) {
+                    return new Result(iterations, StopReason.CONVERGED, average);
+                }
+            }
+            return new Result(iterations, StopReason.ITERATIONS, average);
+        } finally {
+            TraceContext.clear();
+        }
+    }
+
+    /**
+     * Creates requests for every maturity period and loan currency with every combination of passing and failing
+     * income, loan-to-value and currency rules, {@value #VARIANTS} each with different amounts.
+     *
+     * @param maturityPeriods the maturity periods of the rate table
+     * @return the synthetic requests
+     */
+    static List<MortgageCheckRequest> syntheticRequests(List<Integer> maturityPeriods) {
+        var random = new Random(SEED);
+        var currencies = Amount.CurrencyEnum.values();
+        var requests = new ArrayList<MortgageCheckRequest>();
+        for (Integer maturityPeriod : maturityPeriods) {
+            for (Amount.CurrencyEnum currency : currencies) {
+                var otherCurrency = currencies[(currency.ordinal() + 1) % currencies.length];
+                for (int outcome = 0; outcome < 8; outcome++) {
+                    boolean insufficientIncome = (outcome & 1) != 0;
+                    boolean highLoanToValue = (outcome & 2) != 0;
+                    boolean currencyMismatch = (outcome & 4) != 0;
+                    for (int variant = 0; variant < VARIANTS; variant++) {
+                        // loans of 10,000.00 to 500,000.00; the income and home value pass or fail by at least 100.00
+                        var loanValue = BigDecimal.valueOf(random.nextLong(1_000_000, 50_000_000), 2);
+                        var maxIncomeLoan = loanValue.divide(FOUR);
+                        var income = insufficientIncome
+                                ? maxIncomeLoan.subtract(BigDecimal.valueOf(random.nextLong(10_000, 200_000), 2))
+                                : maxIncomeLoan.add(BigDecimal.valueOf(random.nextLong(0, 5_000_000), 2));
+                        var homeValue = highLoanToValue
+                                ? loanValue.subtract(BigDecimal.valueOf(random.nextLong(10_000, 500_000), 2))
+                                : loanValue.add(BigDecimal.valueOf(random.nextLong(0, 20_000_000), 2));
+                        requests.add(MortgageCheckRequest.builder()
+                                .loanValue(new Amount(loanValue, currency))
+                                .maturityPeriod(maturityPeriod)
+                                .income(new Amount(income, currency))
+                                .homeValue(new Amount(homeValue, currencyMismatch ? otherCurrency : currency))
+                                .build());
+                    }
+                }
+            }
+        }
+        return requests;
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpMessageConverter<Object> converter(Predicate<HttpMessageConverter<?>> predicate) {
+        return (HttpMessageConverter<Object>) httpMessageConverters.getConverters().stream()
+                .filter(predicate)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No JSON converter for mortgage checks"));
+    }
+
+    private static final class InputMessage implements HttpInputMessage {
+
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        InputMessage(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class OutputMessage implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.MortgageDecisionCacheConfiguration;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of mortgage check results, keyed by {@link MortgageCheckKey}. A new rate table has a new version
+ * and therefore new keys, so results computed with old rates are never served and age out of the cache.
+ * <p>
+ * The cache is split into independently locked shards. Every shard is a segmented LRU: new entries start in a
+ * probation segment and move to a protected segment on their first hit, so a burst of one-off requests only evicts
+ * other one-off requests. Entries expire a fixed time after they were computed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "mortgage.decision-cache", name = "enabled", havingValue = "true")
+public class MortgageDecisionCache implements MeterBinder {
+
+    /**
+     * Estimated heap footprint of one entry: key with three amounts, map and segment entries, and a response with
+     * its monthly costs, on a 64-bit JVM with compressed references.
+     */
+    static final int ESTIMATED_ENTRY_BYTES = 512;
+    private static final String CACHE_NAME = "mortgageDecisions";
+    private static final int SHARDS = 16;
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    @Autowired
+    public MortgageDecisionCache(MortgageDecisionCacheConfiguration mortgageDecisionCacheConfiguration) {
+        this(mortgageDecisionCacheConfiguration, System::nanoTime);
+    }
+
+    MortgageDecisionCache(MortgageDecisionCacheConfiguration mortgageDecisionCacheConfiguration, LongSupplier nanoClock) {
+        int shardCapacity = Math.max(1, (mortgageDecisionCacheConfiguration.getMaximumSize() + SHARDS - 1) / SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(shardCapacity);
+        }
+        this.timeToLiveNanos = mortgageDecisionCacheConfiguration.getTimeToLive().toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the cached result for a key.
+     *
+     * @param key the normalized mortgage check
+     * @return the cached result, or null if there is none or it expired
+     */
+    public MortgageCheckResponse get(MortgageCheckKey key) {
+        MortgageCheckResponse response = shard(key).get(key, nanoClock.getAsLong());
+        (response != null ? hits : misses).increment();
+        return response;
+    }
+
+    /**
+     * Caches a result. The result is shared between all later hits and must not be modified.
+     *
+     * @param key the normalized mortgage check
+     * @param response the result of the mortgage check
+     */
+    public void put(MortgageCheckKey key, MortgageCheckResponse response) {
+        shard(key).put(key, response, nanoClock.getAsLong() + timeToLiveNanos);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Registers hit, miss, eviction and expiration counters, the size, the hit ratio and the estimated memory
+     * footprint of the cache.
+     *
+     * @param registry the registry to register with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .description("The number of mortgage checks answered from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .description("The number of mortgage checks that had to be evaluated")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .description("The number of results evicted to keep the cache within its maximum size")
+                .register(registry);
+        FunctionCounter.builder("cache.expirations", expirations, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .description("The number of results dropped after their time to live")
+                .register(registry);
+        Gauge.builder("cache.size", this, MortgageDecisionCache::size)
+                .tag("cache", CACHE_NAME)
+                .description("The number of cached mortgage check results")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, MortgageDecisionCache::hitRatio)
+                .tag("cache", CACHE_NAME)
+                .description("The share of lookups answered from the cache since startup")
+                .register(registry);
+        Gauge.builder("cache.memory.estimated", this, cache -> cache.size() * (double) ESTIMATED_ENTRY_BYTES)
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .description("The estimated heap footprint of the cached results")
+                .register(registry);
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    private Shard shard(MortgageCheckKey key) {
+        int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (SHARDS - 1)];
+    }
+
+    private record Entry(MortgageCheckResponse response, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final int protectedCapacity;
+        // access order: the eldest entry is the least recently used one
+        private final LinkedHashMap<MortgageCheckKey, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<MortgageCheckKey, Entry> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = (int) (capacity * PROTECTED_SHARE);
+        }
+
+        MortgageCheckResponse get(MortgageCheckKey key, long now) {
+            lock.lock();
+            try {
+                Entry entry = protectedSegment.get(key);
+                boolean onProbation = entry == null;
+                if (onProbation) {
+                    entry = probation.remove(key);
+                    if (entry == null) {
+                        return null;
+                    }
+                }
+                if (entry.isExpired(now)) {
+                    if (!onProbation) {
+                        protectedSegment.remove(key);
+                    }
+                    expirations.increment();
+                    return null;
+                }
+                if (onProbation) {
+                    promote(key, entry);
+                }
+                return entry.response();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(MortgageCheckKey key, MortgageCheckResponse response, long expiresAtNanos) {
+            var entry = new Entry(response, expiresAtNanos);
+            lock.lock();
+            try {
+                if (protectedSegment.containsKey(key)) {
+                    protectedSegment.put(key, entry);
+                    return;
+                }
+                probation.put(key, entry);
+                while (probation.size() + protectedSegment.size() > capacity) {
+                    removeEldest(probation.isEmpty() ? protectedSegment : probation);
+                    evictions.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return probation.size() + protectedSegment.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void promote(MortgageCheckKey key, Entry entry) {
+            protectedSegment.put(key, entry);
+            if (protectedSegment.size() > protectedCapacity) {
+                // the least recently used protected entry gets one more chance on probation
+                Map.Entry<MortgageCheckKey, Entry> demoted = removeEldest(protectedSegment);
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+
+        private static Map.Entry<MortgageCheckKey, Entry> removeEldest(LinkedHashMap<MortgageCheckKey, Entry> segment) {
+            Iterator<Map.Entry<MortgageCheckKey, Entry>> eldest = segment.entrySet().iterator();
+            Map.Entry<MortgageCheckKey, Entry> entry = eldest.next();
+            eldest.remove();
+            return entry;
+        }
+    }
+}
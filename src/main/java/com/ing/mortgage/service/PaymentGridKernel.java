@@ -0,0 +1,43 @@
+package com.ing.mortgage.service;
+
+/**
+ * Applies the annuity factor of one maturity to a row of loan values in double arithmetic. Like the
+ * {@link com.ing.mortgage.configuration.MortgageCalculationConfiguration.Mode#FAST} calculation, a payment is only
+ * taken from the double result when the interval spanned by its error bound rounds to a single cent amount;
+ * otherwise the kernel reports {@link #NOT_EXACT} and the caller uses the exact calculation.
+ */
+interface PaymentGridKernel {
+
+    long NOT_EXACT = -1;
+
+    String VECTOR_KERNEL = "com.ing.mortgage.service.VectorPaymentGridKernel";
+
+    /**
+     * Calculates the payments of a row of the grid.
+     *
+     * @param principals the loan values
+     * @param annuityFactor the annuity factor {@code I × (1 + I)^T ÷ ((1 + I)^T – 1)} of the maturity
+     * @param relativeError the relative error bound of {@code principal × annuityFactor}
+     * @param cents receives the payment in cents for every loan value, or {@link #NOT_EXACT}
+     */
+    void applyFactor(double[] principals, double annuityFactor, double relativeError, long[] cents);
+
+    /**
+     * Creates the vectorized kernel if requested and the incubating vector API module is present at runtime
+     * ({@code --add-modules jdk.incubator.vector}), the scalar kernel otherwise. The vectorized kernel is compiled
+     * from {@code src/vector/java} on its own and loaded by name, so nothing else depends on the incubating module.
+     *
+     * @param vectorized whether to use the vector API when it is available
+     * @return the kernel
+     */
+    static PaymentGridKernel create(boolean vectorized) {
+        if (vectorized && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (PaymentGridKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create " + VECTOR_KERNEL, e);
+            }
+        }
+        return new ScalarPaymentGridKernel();
+    }
+}
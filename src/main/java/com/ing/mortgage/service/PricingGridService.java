@@ -0,0 +1,122 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.PricingGridConfiguration;
+import com.ing.mortgage.filter.TraceContext;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.PricingGridRequest;
+import com.ing.mortgage.model.PricingGridResponse;
+import com.ing.mortgage.model.PricingGridRow;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class PricingGridService {
+
+    private final InterestRatesService interestRatesService;
+    private final int maxLoanValues;
+    private final PaymentGridKernel kernel;
+
+    public PricingGridService(InterestRatesService interestRatesService, PricingGridConfiguration pricingGridConfiguration) {
+        this.interestRatesService = interestRatesService;
+        this.maxLoanValues = pricingGridConfiguration.getMaxLoanValues();
+        this.kernel = PaymentGridKernel.create(pricingGridConfiguration.isVectorized());
+    }
+
+    /**
+     * Calculates the monthly costs of every maturity period in the rate table for a range of loan values. The
+     * annuity factor of each maturity is computed once and applied to the whole row of loan values; payments the
+     * double calculation cannot settle to the cent use the exact calculation, so every cell equals the monthly
+     * costs of a mortgage check of that loan value and maturity period.
+     *
+     * @param pricingGridRequest the range of loan values
+     * @param asOf the instant whose rates to use, or null for the current rates
+     * @return the loan values and one row of monthly costs per maturity period
+     * @throws InvalidRequestException if the range is invalid or has too many loan values, or no rates are known
+     */
+    public PricingGridResponse calculatePricingGrid(PricingGridRequest pricingGridRequest, Instant asOf) {
+        BigDecimal[] loanValues = toLoanValues(pricingGridRequest);
+        double[] principals = new double[loanValues.length];
+        for (int i = 0; i < loanValues.length; i++) {
+            principals[i] = loanValues[i].doubleValue();
+        }
+
+        var rows = new ArrayList<PricingGridRow>();
+        long[] cents = new long[loanValues.length];
+        Integer previousMaturityPeriod = null;
+        for (MortgageRateDb rate : interestRatesService.getAllInterestRates(asOf)) {
+            // the rates are sorted by maturity period and lookups use the first of duplicate bands
+            if (rate.maturityPeriod().equals(previousMaturityPeriod)) {
+                continue;
+            }
+            previousMaturityPeriod = rate.maturityPeriod();
+            rows.add(PricingGridRow.builder()
+                    .maturityPeriod(rate.maturityPeriod())
+                    .interestRate(rate.interestRate())
+                    .monthlyCosts(calculateRow(loanValues, principals, rate, cents))
+                    .build());
+        }
+
+        return PricingGridResponse.builder()
+                .loanValues(Arrays.asList(loanValues))
+                .rows(rows)
+                .traceId(TraceContext.currentTraceId())
+                .build();
+    }
+
+    private List<BigDecimal> calculateRow(BigDecimal[] loanValues, double[] principals, MortgageRateDb rate, long[] cents) {
+        BigDecimal monthlyInterestRate = InterestRatesService.toMonthlyInterestRate(rate.interestRate());
+        int termMonths = rate.maturityPeriod();
+        var monthlyCosts = new ArrayList<BigDecimal>(loanValues.length);
+        if (monthlyInterestRate.signum() == 0) {
+            for (BigDecimal loanValue : loanValues) {
+                monthlyCosts.add(InterestRatesService.calculateZeroRatePayment(loanValue, termMonths));
+            }
+            return monthlyCosts;
+        }
+
+        double monthlyRate = monthlyInterestRate.doubleValue();
+        double growth = termMonths * Math.log1p(monthlyRate);
+        double onePlusIToTheTMinusOne = Math.expm1(growth);
+        double annuityFactor = monthlyRate * (onePlusIToTheTMinusOne + 1) / onePlusIToTheTMinusOne;
+        kernel.applyFactor(principals, annuityFactor, InterestRatesService.fastPaymentRelativeError(growth), cents);
+
+        for (int i = 0; i < loanValues.length; i++) {
+            monthlyCosts.add(cents[i] == PaymentGridKernel.NOT_EXACT
+                    ? InterestRatesService.calculateExactPayment(loanValues[i], monthlyInterestRate, termMonths)
+                    : BigDecimal.valueOf(cents[i], 2));
+        }
+        return monthlyCosts;
+    }
+
+    private BigDecimal[] toLoanValues(PricingGridRequest pricingGridRequest) {
+        Amount minLoanValue = pricingGridRequest.getMinLoanValue();
+        Amount maxLoanValue = pricingGridRequest.getMaxLoanValue();
+        BigDecimal step = pricingGridRequest.getLoanValueStep();
+        if (maxLoanValue.getCurrency() != minLoanValue.getCurrency()) {
+            throw new InvalidRequestException("maxLoanValue.currency: must equal minLoanValue.currency");
+        }
+        BigDecimal range = maxLoanValue.getAmount().subtract(minLoanValue.getAmount());
+        if (range.signum() < 0) {
+            throw new InvalidRequestException("maxLoanValue.amount: must be greater than or equal to minLoanValue.amount");
+        }
+        if (step.signum() <= 0) {
+            throw new InvalidRequestException("loanValueStep: must be greater than 0");
+        }
+        BigDecimal steps = range.divideToIntegralValue(step);
+        if (steps.compareTo(BigDecimal.valueOf(maxLoanValues - 1L)) > 0) {
+            throw new InvalidRequestException("loanValueStep: the grid may have at most " + maxLoanValues + " loan values");
+        }
+
+        var loanValues = new BigDecimal[steps.intValueExact() + 1];
+        for (int i = 0; i < loanValues.length; i++) {
+            loanValues[i] = minLoanValue.getAmount().add(step.multiply(BigDecimal.valueOf(i)));
+        }
+        return loanValues;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ing.mortgage.service;
+
+/**
+ * Thrown when no mortgage rates are known for the requested instant.
+ */
+public class RatesNotAvailableException extends InvalidRequestException {
+
+    public RatesNotAvailableException(String message) {
+        super(message);
+    }
+}
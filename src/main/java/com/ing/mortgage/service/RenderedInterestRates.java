@@ -0,0 +1,38 @@
+package com.ing.mortgage.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * The interest rates response of one rate table snapshot, serialized once. The serialized JSON is split around the
+ * trace ID, so a response is written by splicing the request's trace ID between the two parts.
+ *
+ * @param version the version of the rate table snapshot
+ * @param prefix the JSON before the trace ID
+ * @param suffix the JSON after the trace ID
+ * @param eTag the strong entity tag of the rates, derived from their content
+ * @param lastModified the latest update time of the rates in epoch milliseconds, or -1 if unknown
+ */
+public record RenderedInterestRates(long version, byte[] prefix, byte[] suffix, String eTag, long lastModified) {
+
+    private static final int TRACE_ID_LENGTH = 36;
+
+    public int contentLength() {
+        return prefix.length + TRACE_ID_LENGTH + suffix.length;
+    }
+
+    /**
+     * Writes the response for a request.
+     *
+     * @param outputStream the stream to write to
+     * @param traceId the trace ID of the request
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream outputStream, UUID traceId) throws IOException {
+        outputStream.write(prefix);
+        outputStream.write(traceId.toString().getBytes(StandardCharsets.US_ASCII));
+        outputStream.write(suffix);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ing.mortgage.service;
+
+final class ScalarPaymentGridKernel implements PaymentGridKernel {
+
+    @Override
+    public void applyFactor(double[] principals, double annuityFactor, double relativeError, long[] cents) {
+        for (int i = 0; i < principals.length; i++) {
+            cents[i] = toCents(principals[i], annuityFactor, relativeError);
+        }
+    }
+
+    /**
+     * Calculates one payment; {@code VectorPaymentGridKernel} performs the same operations lane-wise.
+     *
+     * @return the payment in cents, or {@link #NOT_EXACT}
+     */
+    static long toCents(double principal, double annuityFactor, double relativeError) {
+        double payment = principal * annuityFactor;
+        double error = payment * relativeError + InterestRatesService.FAST_PAYMENT_ABSOLUTE_ERROR;
+        double lower = (payment - error) * 100 + 0.5;
+        double upper = (payment + error) * 100 + 0.5;
+        if (payment < InterestRatesService.MAX_FAST_PAYMENT && lower >= 0 && (long) lower == (long) upper) {
+            return (long) lower;
+        }
+        return NOT_EXACT;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ing.mortgage;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Runs the {@link MortgageCheckIT} tests with CBOR request and response bodies.
+ */
+class MortgageCheckCborIT extends MortgageCheckIT {
+
+    @Override
+    MediaType mediaType() {
+        return MediaType.APPLICATION_CBOR;
+    }
+}
@@ -2,41 +2,102 @@ package com.ing.mortgage;
 
 import com.ing.mortgage.model.Amount;
 import com.ing.mortgage.model.ErrorResponse;
+import com.ing.mortgage.model.MaxLoanRequest;
+import com.ing.mortgage.model.MaxLoanResponse;
+import com.ing.mortgage.model.MortgageCheckBatchRequest;
+import com.ing.mortgage.model.MortgageCheckBatchResponse;
 import com.ing.mortgage.model.MortgageCheckRequest;
 import com.ing.mortgage.model.MortgageCheckResponse;
+import com.ing.mortgage.model.MortgageRatesResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
 import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
 import static com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Slf4j
 class MortgageCheckIT {
 
+    private static final List<MediaType> BODY_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
     @Autowired
     private TestRestTemplate restTemplate;
 
+    private final List<MediaType> responseMediaTypes = new ArrayList<>();
+
     @BeforeEach
     void setUp() {
         restTemplate.getRestTemplate().setInterceptors(
                 List.of((request1, body, execution) -> {
                     request1.getHeaders().add(X_TRACE_ID, UUID.randomUUID().toString());
-                    return execution.execute(request1, body);
+                    ClientHttpResponse response = execution.execute(request1, body);
+                    if (!response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        responseMediaTypes.add(response.getHeaders().getContentType());
+                    }
+                    return response;
                 })
         );
+        // the first body converter writes the requests and its media type is asked for first in Accept
+        var converters = new ArrayList<>(restTemplate.getRestTemplate().getMessageConverters());
+        int position = 0;
+        while (!isBodyConverter(converters.get(position))) {
+            position++;
+        }
+        List<HttpMessageConverter<?>> bodyConverters = converters.stream()
+                .filter(MortgageCheckIT::isBodyConverter)
+                .sorted(Comparator.comparing(converter -> !converter.getSupportedMediaTypes().contains(mediaType())))
+                .toList();
+        converters.removeAll(bodyConverters);
+        converters.addAll(position, bodyConverters);
+        restTemplate.getRestTemplate().setMessageConverters(converters);
+    }
+
+    /**
+     * The format of the request and response bodies.
+     *
+     * @return the media type the tests send and accept
+     */
+    MediaType mediaType() {
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Every response with a body, successful or not, must be in the format the test asked for, and not a fallback
+     * to JSON.
+     */
+    @AfterEach
+    void assertResponseMediaTypes() {
+        assertFalse(responseMediaTypes.isEmpty());
+        for (MediaType responseMediaType : responseMediaTypes) {
+            assertEquals(mediaType(), responseMediaType);
+        }
+    }
+
+    private static boolean isBodyConverter(HttpMessageConverter<?> converter) {
+        return converter.getSupportedMediaTypes().stream().anyMatch(BODY_MEDIA_TYPES::contains);
     }
 
     @Test
@@ -128,12 +189,44 @@ class MortgageCheckIT {
         String url = "/api/interest-rates";
 
         // Act
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        ResponseEntity<MortgageRatesResponse> response = restTemplate.getForEntity(url, MortgageRatesResponse.class);
         log.info("Interest Rates Response: {}", response);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().contains("rates"));
+        assertFalse(response.getBody().getRates().isEmpty());
+    }
+
+    @Test
+    void apiInterestRatesGet_shouldReturnNotModifiedForMatchingETag() {
+        // Arrange
+        String url = "/api/interest-rates";
+        ResponseEntity<MortgageRatesResponse> first = restTemplate.getForEntity(url, MortgageRatesResponse.class);
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+
+        // Act
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertTrue(first.getBody() != null && first.getBody().getTraceId() != null);
+        assertTrue(first.getHeaders().getLastModified() > 0);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(first.getHeaders().getETag(), response.getHeaders().getETag());
+    }
+
+    @Test
+    void apiInterestRatesGet_asOfWithoutRateHistory_shouldReturnBadRequest() {
+        // Arrange
+        String url = "/api/interest-rates?asOf=2025-01-01T00:00:00Z";
+
+        // Act
+        ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(url, ErrorResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("asOf: mortgage rate history is not enabled", response.getBody().getMessage());
     }
 
     @Test
@@ -235,4 +328,100 @@ class MortgageCheckIT {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody() != null && response.getBody().getTraceId() != null);
     }
+
+    @Test
+    void apiMortgageCheckBatchPost_shouldReturnResultPerRequestInOrder() {
+        // Arrange
+        String url = "/api/mortgage-check/batch";
+        var feasible = MortgageCheckRequest.builder()
+                .maturityPeriod(20)
+                .income(new Amount(BigDecimal.valueOf(50000), Amount.CurrencyEnum.EUR))
+                .loanValue(new Amount(BigDecimal.valueOf(150000), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(BigDecimal.valueOf(200000), Amount.CurrencyEnum.EUR))
+                .build();
+        var tooHigh = MortgageCheckRequest.builder()
+                .maturityPeriod(30)
+                .income(new Amount(BigDecimal.valueOf(50000), Amount.CurrencyEnum.EUR))
+                .loanValue(new Amount(BigDecimal.valueOf(250000), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(BigDecimal.valueOf(200000), Amount.CurrencyEnum.EUR))
+                .build();
+        var invalid = MortgageCheckRequest.builder()
+                .maturityPeriod(20)
+                .loanValue(new Amount(BigDecimal.valueOf(20000), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(BigDecimal.valueOf(20000), Amount.CurrencyEnum.EUR))
+                .build();
+        var request = MortgageCheckBatchRequest.builder().requests(List.of(feasible, tooHigh, invalid)).build();
+
+        // Act
+        ResponseEntity<MortgageCheckBatchResponse> response = restTemplate.postForEntity(url, request, MortgageCheckBatchResponse.class);
+        log.info("Response: {}", response);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        var results = response.getBody().getResults();
+        assertEquals(3, results.size());
+        assertEquals(true, results.get(0).getResponse().getFeasible());
+        assertTrue(results.get(0).getResponse().getTraceId() != null);
+        assertEquals(false, results.get(1).getResponse().getFeasible());
+        assertTrue(results.get(1).getResponse().getErrorCodes().contains(HIGH_LOAN_TO_VALUE));
+        assertEquals("INVALID_REQUEST", results.get(2).getError().getErrorCode());
+        assertEquals("income: must not be null", results.get(2).getError().getMessage());
+    }
+
+    @Test
+    void apiMortgageCheckBatchPost_shouldRejectEmptyBatch() {
+        // Arrange
+        String url = "/api/mortgage-check/batch";
+        var request = MortgageCheckBatchRequest.builder().requests(List.of()).build();
+
+        // Act
+        ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(url, request, ErrorResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody() != null && response.getBody().getMessage().startsWith("requests: size must be between 1 and"));
+    }
+
+    @Test
+    void apiMaxLoanPost_shouldReturnMaximumLoanWithMonthlyCosts() {
+        // Arrange
+        String url = "/api/mortgage-check/max-loan";
+        var request = MaxLoanRequest.builder()
+                .maturityPeriod(20)
+                .income(new Amount(BigDecimal.valueOf(50000), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(BigDecimal.valueOf(300000), Amount.CurrencyEnum.EUR))
+                .build();
+
+        // Act
+        ResponseEntity<MaxLoanResponse> response = restTemplate.postForEntity(url, request, MaxLoanResponse.class);
+        log.info("Response: {}", response);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, new BigDecimal("200000.00").compareTo(response.getBody().getMaxLoanValue().getAmount()));
+        assertEquals(Amount.CurrencyEnum.EUR, response.getBody().getMaxLoanValue().getCurrency());
+        assertEquals(true, response.getBody().getMortgageCheck().getFeasible());
+        assertTrue(response.getBody().getMortgageCheck().getMonthlyCosts().getAmount().signum() > 0);
+        assertTrue(response.getBody().getTraceId() != null);
+    }
+
+    @Test
+    void apiMaxLoanPost_shouldReturnNoLoanForCurrencyMismatch() {
+        // Arrange
+        String url = "/api/mortgage-check/max-loan";
+        var request = MaxLoanRequest.builder()
+                .maturityPeriod(20)
+                .income(new Amount(BigDecimal.valueOf(50000), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(BigDecimal.valueOf(300000), Amount.CurrencyEnum.USD))
+                .build();
+
+        // Act
+        ResponseEntity<MaxLoanResponse> response = restTemplate.postForEntity(url, request, MaxLoanResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(null, response.getBody().getMaxLoanValue());
+        assertEquals(false, response.getBody().getMortgageCheck().getFeasible());
+        assertEquals(List.of(CURRENCY_MISMATCH), response.getBody().getMortgageCheck().getErrorCodes());
+    }
 }
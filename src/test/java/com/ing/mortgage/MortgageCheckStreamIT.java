@@ -0,0 +1,141 @@
+package com.ing.mortgage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the NDJSON stream endpoint end to end and compares its throughput with one HTTP call per request. The
+ * stream must be at least {@code mortgage.stream.minSpeedup} times as fast (default {@value #DEFAULT_MIN_SPEEDUP}, a
+ * floor that holds on shared build machines); set a higher factor on a dedicated machine. Each path is timed
+ * {@value #ROUNDS} times and the fastest round counts, so one slow round does not fail the test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class MortgageCheckStreamIT {
+
+    private static final int REQUESTS = 2_000;
+    private static final int ROUNDS = 3;
+    private static final String DEFAULT_MIN_SPEEDUP = "1.0";
+    private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("mortgage.stream.minSpeedup", DEFAULT_MIN_SPEEDUP));
+    private static final String REQUEST = "{\"loanValue\":{\"amount\":%d,\"currency\":\"EUR\"},\"maturityPeriod\":%d,"
+            + "\"income\":{\"amount\":50000,\"currency\":\"EUR\"},\"homeValue\":{\"amount\":300000,\"currency\":\"EUR\"}}";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void apiMortgageCheckStreamPost_shouldReturnLinePerRequest() {
+        String body = REQUEST.formatted(150000, 20) + "\n"
+                + REQUEST.formatted(350000, 20) + "\n"
+                + "{\"maturityPeriod\":20}\n";
+
+        ResponseEntity<String> response = post(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON));
+        List<String> lines = response.getBody().lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"feasible\":true"));
+        assertTrue(lines.get(1).contains("HIGH_LOAN_TO_VALUE"));
+        assertTrue(lines.get(2).contains("INVALID_REQUEST"));
+    }
+
+    @Test
+    void apiMortgageCheckScheduleGet_shouldStreamCsv() {
+        var headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.parseMediaType("text/csv")));
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/mortgage-check/schedule?loanValue=150000&currency=EUR&maturityPeriod=240",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getContentType().isCompatibleWith(MediaType.parseMediaType("text/csv")));
+        List<String> lines = response.getBody().lines().toList();
+        assertEquals(241, lines.size());
+        assertEquals("month,payment,principal,interest,remainingBalance", lines.getFirst());
+        assertTrue(lines.getLast().startsWith("240,") && lines.getLast().endsWith(",0.00"));
+    }
+
+    @Test
+    void apiMortgageCheckSchedulePost_shouldStreamJsonArray() {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<List> response = restTemplate.postForEntity("/api/mortgage-check/schedule",
+                new HttpEntity<>(REQUEST.formatted(150000, 480), headers), List.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(480, response.getBody().size());
+    }
+
+    @Test
+    void apiMortgageCheckScheduleGet_missingParameter_shouldReturnBadRequest() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/api/mortgage-check/schedule?loanValue=150000&currency=EUR", String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("maturityPeriod: must not be null"));
+    }
+
+    @Test
+    void streamThroughput_fasterThanSingleRequests() {
+        var body = new StringBuilder();
+        for (int i = 0; i < REQUESTS; i++) {
+            body.append(REQUEST.formatted(100000 + i, 10 + i % 30)).append('\n');
+        }
+        // warm up both paths before measuring
+        post(body.toString());
+        for (int i = 0; i < 200; i++) {
+            postSingle(i);
+        }
+
+        long streamNanos = Long.MAX_VALUE;
+        long singleNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long streamStart = System.nanoTime();
+            ResponseEntity<String> streamResponse = post(body.toString());
+            streamNanos = Math.min(streamNanos, System.nanoTime() - streamStart);
+            assertEquals(REQUESTS, streamResponse.getBody().lines().count());
+
+            long singleStart = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                assertEquals(HttpStatus.OK, postSingle(i).getStatusCode());
+            }
+            singleNanos = Math.min(singleNanos, System.nanoTime() - singleStart);
+        }
+
+        long stream = REQUESTS * 1_000_000_000L / streamNanos;
+        long single = REQUESTS * 1_000_000_000L / singleNanos;
+        log.info("Mortgage checks per second: stream {}, single requests {}", stream, single);
+        assertTrue(stream >= MIN_SPEEDUP * single,
+                "stream " + stream + " checks/s, single requests " + single + " checks/s, expected at least " + MIN_SPEEDUP + "x");
+    }
+
+    private ResponseEntity<String> post(String body) {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        return restTemplate.postForEntity("/api/mortgage-check/stream", new HttpEntity<>(body, headers), String.class);
+    }
+
+    private ResponseEntity<String> postSingle(int i) {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity("/api/mortgage-check", new HttpEntity<>(REQUEST.formatted(100000 + i, 10 + i % 30), headers), String.class);
+    }
+}
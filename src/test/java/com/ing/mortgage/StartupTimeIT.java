@@ -0,0 +1,121 @@
+package com.ing.mortgage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Starts the application in a new JVM and measures the time until its first successful mortgage check, which is
+ * how long a new instance takes before it serves traffic. Fails when that exceeds {@code mortgage.startup.budget}
+ * (default {@value #DEFAULT_BUDGET}).
+ * <p>
+ * By default the application runs from the test classpath. Run the AOT-processed jar and the class data sharing
+ * archive of the {@code startup} profile with
+ * {@code -Dmortgage.startup.jar=target/application/ing-mortgage-api-0.0.1-SNAPSHOT.jar
+ * -Dmortgage.startup.jvmArgs="-XX:SharedArchiveFile=target/application/application.jsa -Dspring.aot.enabled=true"}.
+ */
+@Slf4j
+class StartupTimeIT {
+
+    private static final String DEFAULT_BUDGET = "PT30S";
+    private static final Duration BUDGET = Duration.parse(System.getProperty("mortgage.startup.budget", DEFAULT_BUDGET));
+    private static final String JAR = System.getProperty("mortgage.startup.jar");
+    private static final String JVM_ARGS = System.getProperty("mortgage.startup.jvmArgs", "");
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String REQUEST = "{\"loanValue\":{\"amount\":150000,\"currency\":\"EUR\"},\"maturityPeriod\":20,"
+            + "\"income\":{\"amount\":50000,\"currency\":\"EUR\"},\"homeValue\":{\"amount\":300000,\"currency\":\"EUR\"}}";
+
+    @Test
+    void firstMortgageCheck_succeedsWithinStartupBudget() throws Exception {
+        int port = freePort();
+        Path output = Files.createTempFile("mortgage-startup", ".log");
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/mortgage-check"))
+                .header("Content-Type", "application/json")
+                .header("x-trace-id", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST))
+                .build();
+
+        long start = System.nanoTime();
+        Process application = new ProcessBuilder(command(port))
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        try {
+            long deadline = start + BUDGET.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!application.isAlive()) {
+                    fail("application exited with " + application.exitValue() + ":\n" + Files.readString(output));
+                }
+                if (isSuccessful(client, request)) {
+                    Duration timeToFirstCheck = Duration.ofNanos(System.nanoTime() - start);
+                    log.info("Time to first successful mortgage check: {} ms", timeToFirstCheck.toMillis());
+                    assertTrue(timeToFirstCheck.compareTo(BUDGET) <= 0, timeToFirstCheck + " exceeds " + BUDGET);
+                    return;
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            fail("no successful mortgage check within " + BUDGET + ":\n" + Files.readString(output));
+        } finally {
+            application.destroy();
+            if (!application.waitFor(10, TimeUnit.SECONDS)) {
+                application.destroyForcibly();
+            }
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private static List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        if (!JVM_ARGS.isBlank()) {
+            command.addAll(Arrays.asList(JVM_ARGS.trim().split("\\s+")));
+        }
+        if (JAR != null) {
+            command.add("-jar");
+            command.add(JAR);
+        } else {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(MortgageApiApplication.class.getName());
+        }
+        command.add("--server.port=" + port);
+        command.add("--spring.jmx.enabled=false");
+        return command;
+    }
+
+    private static boolean isSuccessful(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // not listening yet
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
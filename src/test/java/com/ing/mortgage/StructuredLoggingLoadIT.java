@@ -0,0 +1,116 @@
+package com.ing.mortgage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the same load against the application with the default synchronous logging of every payload and with the
+ * {@code structured-logging} profile, which writes from a background thread and samples one in
+ * {@value #PAYLOAD_SAMPLE_RATE} payloads. Request threads no longer wait for the console, which shows in the
+ * throughput.
+ * <p>
+ * Each mode runs the load {@value #ROUNDS} times and its fastest round counts. The structured throughput must be at
+ * least {@code mortgage.logging.minSpeedup} times the synchronous one (default {@value #DEFAULT_MIN_SPEEDUP}, a
+ * floor that holds on shared build machines); set a higher factor on a dedicated machine.
+ */
+@Slf4j
+class StructuredLoggingLoadIT {
+
+    private static final int CLIENTS = 32;
+    private static final int REQUESTS = 4_000;
+    private static final int PAYLOAD_SAMPLE_RATE = 100;
+    private static final int ROUNDS = 3;
+    private static final String DEFAULT_MIN_SPEEDUP = "0.9";
+    private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("mortgage.logging.minSpeedup", DEFAULT_MIN_SPEEDUP));
+    private static final String REQUEST = "{\"loanValue\":{\"amount\":150000,\"currency\":\"EUR\"},\"maturityPeriod\":20,"
+            + "\"income\":{\"amount\":50000,\"currency\":\"EUR\"},\"homeValue\":{\"amount\":300000,\"currency\":\"EUR\"}}";
+
+    @Test
+    void structuredLogging_throughputComparedToSynchronousLogging() throws Exception {
+        double synchronous = runLoad(false);
+        double structured = runLoad(true);
+
+        log.info("Synchronous logging: {} checks/s", Math.round(synchronous));
+        log.info("Structured asynchronous logging: {} checks/s", Math.round(structured));
+        assertTrue(structured >= MIN_SPEEDUP * synchronous, "structured " + structured + " checks/s, synchronous "
+                + synchronous + " checks/s, expected at least " + MIN_SPEEDUP + "x");
+    }
+
+    private static double runLoad(boolean structuredLogging) throws Exception {
+        var application = new SpringApplicationBuilder(MortgageApiApplication.class)
+                .properties("server.port=0",
+                        "spring.jmx.enabled=false",
+                        "mortgage.logging.payloadSampleRate=" + (structuredLogging ? PAYLOAD_SAMPLE_RATE : 1));
+        if (structuredLogging) {
+            application.profiles("structured-logging");
+        }
+        try (ConfigurableApplicationContext context = application.run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/mortgage-check");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            // warm up the request path before measuring
+            for (int i = 0; i < 200; i++) {
+                send(client, uri);
+            }
+
+            long fastestNanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+                    List<Future<?>> calls = new ArrayList<>();
+                    for (int i = 0; i < CLIENTS; i++) {
+                        calls.add(clients.submit(() -> {
+                            for (int j = 0; j < REQUESTS / CLIENTS; j++) {
+                                assertEquals(200, send(client, uri).statusCode());
+                            }
+                            return null;
+                        }));
+                    }
+                    for (Future<?> call : calls) {
+                        call.get(120, TimeUnit.SECONDS);
+                    }
+                }
+                fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+            }
+            double checksPerSecond = REQUESTS / (double) fastestNanos * TimeUnit.SECONDS.toNanos(1);
+
+            FunctionCounter dropped = context.getBean(MeterRegistry.class).find("logging.events.dropped").functionCounter();
+            if (structuredLogging) {
+                assertNotNull(dropped, "dropped events counter of the asynchronous appender");
+                log.info("Dropped log events: {}", Math.round(dropped.count()));
+            }
+            return checksPerSecond;
+        }
+    }
+
+    private static HttpResponse<String> send(HttpClient client, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("x-trace-id", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,166 @@
+package com.ing.mortgage;
+
+import com.ing.mortgage.businessrules.MortgageBusinessRule;
+import com.ing.mortgage.businessrules.RuleResult;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the same load against the application with platform and with virtual request threads, with a rule that
+ * blocks for {@value #BLOCKING_MILLIS} ms on every check. With platform threads the number of checks in flight is
+ * capped by the Tomcat pool; with virtual threads it is not, which shows in the p99 latency. While the virtual
+ * thread run is going, no virtual thread may park while pinned to its carrier inside application code.
+ * <p>
+ * The blocking rule is registered by an initializer of this test's contexts only. A configuration class in this
+ * package would be picked up by component scanning in every context started from {@link MortgageApiApplication}
+ * on the test classpath, such as those of {@link StructuredLoggingLoadIT} and {@link StartupTimeIT}.
+ */
+@Slf4j
+class VirtualThreadsLoadIT {
+
+    private static final int BLOCKING_MILLIS = 20;
+    private static final int TOMCAT_THREADS = 20;
+    private static final int REQUESTS = 400;
+    private static final String REQUEST = "{\"loanValue\":{\"amount\":150000,\"currency\":\"EUR\"},\"maturityPeriod\":20,"
+            + "\"income\":{\"amount\":50000,\"currency\":\"EUR\"},\"homeValue\":{\"amount\":300000,\"currency\":\"EUR\"}}";
+
+    @Test
+    void virtualThreads_serveMoreBlockingChecksConcurrentlyThanPlatformThreads() throws Exception {
+        LoadResult platform = runLoad(false);
+
+        List<String> pinnedFrames = new CopyOnWriteArrayList<>();
+        LoadResult virtual;
+        try (var pinningEvents = new RecordingStream()) {
+            pinningEvents.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            pinningEvents.onEvent("jdk.VirtualThreadPinned", event -> event.getStackTrace().getFrames().stream()
+                    .map(RecordedFrame::getMethod)
+                    .filter(method -> method.getType().getName().startsWith("com.ing.mortgage"))
+                    .findFirst()
+                    .ifPresent(method -> pinnedFrames.add(method.getType().getName() + "." + method.getName())));
+            pinningEvents.startAsync();
+            virtual = runLoad(true);
+            pinningEvents.stop();
+        }
+
+        log.info("Platform threads: p99 {} ms, max in flight {}", platform.p99Millis(), platform.maxInFlight());
+        log.info("Virtual threads: p99 {} ms, max in flight {}", virtual.p99Millis(), virtual.maxInFlight());
+        assertTrue(platform.maxInFlight() <= TOMCAT_THREADS, "platform in flight " + platform.maxInFlight());
+        assertTrue(virtual.maxInFlight() > TOMCAT_THREADS, "virtual in flight " + virtual.maxInFlight());
+        assertTrue(virtual.p99Millis() < platform.p99Millis(),
+                "virtual p99 " + virtual.p99Millis() + " ms, platform p99 " + platform.p99Millis() + " ms");
+        assertEquals(List.of(), pinnedFrames);
+    }
+
+    private static LoadResult runLoad(boolean virtualThreads) throws Exception {
+        BlockingRule.reset();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MortgageApiApplication.class)
+                .initializers(context -> context.getBeanFactory().registerSingleton("blockingRule", new BlockingRule()))
+                .properties("server.port=0",
+                        "spring.jmx.enabled=false",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        // the load consists of identical requests, which must each reach the blocking rule
+                        "mortgage.coalescing.enabled=false")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/mortgage-check");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            // warm up the request path before measuring
+            for (int i = 0; i < 50; i++) {
+                send(client, uri, UUID.randomUUID());
+            }
+            BlockingRule.reset();
+
+            long[] latencies = new long[REQUESTS];
+            CountDownLatch start = new CountDownLatch(1);
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < REQUESTS; i++) {
+                    int index = i;
+                    calls.add(clients.submit(() -> {
+                        start.await();
+                        UUID traceId = UUID.randomUUID();
+                        long begin = System.nanoTime();
+                        HttpResponse<String> response = send(client, uri, traceId);
+                        latencies[index] = System.nanoTime() - begin;
+                        assertEquals(200, response.statusCode());
+                        assertTrue(response.body().contains(traceId.toString()), "trace ID of the request in its response");
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> call : calls) {
+                    call.get(60, TimeUnit.SECONDS);
+                }
+            }
+            Arrays.sort(latencies);
+            return new LoadResult(TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(REQUESTS * 0.99) - 1]),
+                    BlockingRule.MAX_IN_FLIGHT.get());
+        }
+    }
+
+    private static HttpResponse<String> send(HttpClient client, URI uri, UUID traceId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("x-trace-id", traceId.toString())
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private record LoadResult(long p99Millis, int maxInFlight) { }
+
+    /**
+     * Stands in for a rule that calls a slow downstream system.
+     */
+    static class BlockingRule implements MortgageBusinessRule {
+
+        static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+        static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+
+        static void reset() {
+            IN_FLIGHT.set(0);
+            MAX_IN_FLIGHT.set(0);
+        }
+
+        @Override
+        public RuleResult applyRule(MortgageCheckRequest mortgageCheckRequest) {
+            MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(BLOCKING_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                IN_FLIGHT.decrementAndGet();
+            }
+            return RuleResult.PASSED;
+        }
+    }
+}
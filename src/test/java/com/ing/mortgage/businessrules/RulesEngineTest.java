@@ -1,12 +1,22 @@
 package com.ing.mortgage.businessrules;
 
+import com.ing.mortgage.businessrules.rules.MaxMortgageForHomeValue;
+import com.ing.mortgage.businessrules.rules.MaxMortgageForIncome;
+import com.ing.mortgage.businessrules.rules.SameCurrency;
+import com.ing.mortgage.configuration.RulesEngineConfiguration;
+import com.ing.mortgage.model.Amount;
 import com.ing.mortgage.model.MortgageCheckRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
+import static com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 class RulesEngineTest {
@@ -45,4 +55,199 @@ class RulesEngineTest {
 
         assertTrue(results.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void evaluateFailures_setsBitPerFailedErrorCode() {
+        MortgageCheckRequest request = Mockito.mock(MortgageCheckRequest.class);
+        Mockito.when(ruleMock1.applyRule(request)).thenReturn(RuleResult.failed(CURRENCY_MISMATCH));
+        Mockito.when(ruleMock2.applyRule(request)).thenReturn(RuleResult.failed(INSUFFICIENT_INCOME));
+
+        long failures = rulesEngine.evaluateFailures(request);
+
+        assertEquals(List.of(INSUFFICIENT_INCOME, CURRENCY_MISMATCH), RulesEngine.toErrorCodes(failures));
+    }
+
+    @Test
+    void evaluateFailures_allPassing_returnsZero() {
+        MortgageCheckRequest request = Mockito.mock(MortgageCheckRequest.class);
+        Mockito.when(ruleMock1.applyRule(request)).thenReturn(RuleResult.PASSED);
+        Mockito.when(ruleMock2.applyRule(request)).thenReturn(RuleResult.PASSED);
+
+        assertEquals(0L, rulesEngine.evaluateFailures(request));
+        assertTrue(RulesEngine.toErrorCodes(0L).isEmpty());
+    }
+
+    @Test
+    void evaluateFailures_failureWithoutErrorCode_throws() {
+        MortgageCheckRequest request = Mockito.mock(MortgageCheckRequest.class);
+        Mockito.when(ruleMock1.applyRule(request)).thenReturn(new RuleResult(false, null));
+        Mockito.when(ruleMock2.applyRule(request)).thenReturn(RuleResult.PASSED);
+
+        assertThrows(IllegalStateException.class, () -> rulesEngine.evaluateFailures(request));
+    }
+
+    @Test
+    void evaluateFailures_passingEvaluationDoesNotAllocate() {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MortgageBusinessRule passing = mortgageCheckRequest -> RuleResult.PASSED;
+        RulesEngine engine = new RulesEngine(List.of(passing, passing, passing));
+        MortgageCheckRequest request = new MortgageCheckRequest();
+        int evaluations = 100_000;
+        long failures = 0;
+        for (int i = 0; i < evaluations; i++) {
+            failures |= engine.evaluateFailures(request);
+        }
+
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < evaluations; i++) {
+            failures |= engine.evaluateFailures(request);
+        }
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(0L, failures);
+        // allow for the measurement itself, far below one byte per evaluation
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes for " + evaluations + " evaluations");
+    }
+
+    @Test
+    void evaluateFailures_firstFailureStrategy_stopsAtFirstFailure() {
+        RulesEngine engine = new RulesEngine(List.of(ruleMock1, ruleMock2), configuration(RulesEvaluationStrategy.FIRST_FAILURE));
+        MortgageCheckRequest request = Mockito.mock(MortgageCheckRequest.class);
+        Mockito.when(ruleMock1.applyRule(request)).thenReturn(RuleResult.failed(HIGH_LOAN_TO_VALUE));
+        Mockito.when(ruleMock2.applyRule(request)).thenReturn(RuleResult.failed(INSUFFICIENT_INCOME));
+
+        long failures = engine.evaluateFailures(request);
+
+        assertEquals(List.of(HIGH_LOAN_TO_VALUE), RulesEngine.toErrorCodes(failures));
+        Mockito.verify(ruleMock2, Mockito.never()).applyRule(request);
+    }
+
+    @Test
+    void reorderRules_adaptiveStrategy_runsFrequentlyFailingRuleFirst() {
+        RulesEngine engine = new RulesEngine(List.of(ruleMock1, ruleMock2), configuration(RulesEvaluationStrategy.ADAPTIVE));
+        MortgageCheckRequest request = Mockito.mock(MortgageCheckRequest.class);
+        Mockito.when(ruleMock1.applyRule(request)).thenReturn(RuleResult.PASSED);
+        Mockito.when(ruleMock2.applyRule(request)).thenReturn(RuleResult.failed(CURRENCY_MISMATCH));
+        for (int i = 0; i < 100; i++) {
+            engine.evaluateFailures(request);
+        }
+
+        engine.reorderRules();
+        Mockito.clearInvocations(ruleMock1, ruleMock2);
+        long failures = engine.evaluateFailures(request);
+
+        assertEquals(List.of(CURRENCY_MISMATCH), RulesEngine.toErrorCodes(failures));
+        Mockito.verify(ruleMock1, Mockito.never()).applyRule(request);
+        var statistics = engine.getRuleStatistics();
+        assertEquals(1.0, statistics.getFirst().failureRate());
+        assertEquals(0.0, statistics.getLast().failureRate());
+    }
+
+    @Test
+    void reorderRules_allStrategy_keepsRegistrationOrder() {
+        MortgageCheckRequest request = Mockito.mock(MortgageCheckRequest.class);
+        Mockito.when(ruleMock1.applyRule(request)).thenReturn(RuleResult.PASSED);
+        Mockito.when(ruleMock2.applyRule(request)).thenReturn(RuleResult.failed(CURRENCY_MISMATCH));
+        rulesEngine.evaluateFailures(request);
+
+        rulesEngine.reorderRules();
+
+        assertEquals(0.0, rulesEngine.getRuleStatistics().getFirst().failureRate());
+    }
+
+    @Test
+    void bindTo_registersTimerAndOutcomeCountersPerRule() {
+        RulesEngine engine = new RulesEngine(List.of(new PassingRule(), new FailingRule()), configuration(RulesEvaluationStrategy.ALL));
+        var registry = new SimpleMeterRegistry();
+        engine.bindTo(registry);
+        MortgageCheckRequest request = new MortgageCheckRequest();
+
+        for (int i = 0; i < 10; i++) {
+            engine.evaluateFailures(request);
+        }
+
+        assertEquals(10.0, registry.get("mortgage.rules.results")
+                .tags("rule", "PassingRule", "outcome", "pass").functionCounter().count());
+        assertEquals(10.0, registry.get("mortgage.rules.results")
+                .tags("rule", "FailingRule", "outcome", "fail", "errorCode", INSUFFICIENT_INCOME.name()).functionCounter().count());
+        assertEquals(0.0, registry.get("mortgage.rules.results")
+                .tags("rule", "FailingRule", "outcome", "pass").functionCounter().count());
+        assertEquals(10.0, registry.get("mortgage.rules.evaluation.calls").tags("rule", "FailingRule").functionCounter().count());
+        assertEquals(10, registry.get("mortgage.rules.evaluation").tags("rule", "FailingRule").timer().count());
+    }
+
+    @Test
+    void findMaxLoanValue_intersectsAnalyticBounds() {
+        RulesEngine engine = new RulesEngine(List.of(new MaxMortgageForIncome(), new MaxMortgageForHomeValue(), new SameCurrency()));
+
+        assertEquals(Optional.of(new BigDecimal("200000.00")), engine.findMaxLoanValue(request("50000", "300000", Amount.CurrencyEnum.EUR)));
+        assertEquals(Optional.of(new BigDecimal("150000.00")), engine.findMaxLoanValue(request("50000", "150000", Amount.CurrencyEnum.EUR)));
+        assertEquals(Optional.of(new BigDecimal("1234.56")), engine.findMaxLoanValue(request("1000", "1234.567", Amount.CurrencyEnum.EUR)));
+    }
+
+    @Test
+    void findMaxLoanValue_failingLoanIndependentRule_returnsEmpty() {
+        RulesEngine engine = new RulesEngine(List.of(new MaxMortgageForIncome(), new SameCurrency()));
+
+        assertEquals(Optional.empty(), engine.findMaxLoanValue(request("50000", "300000", Amount.CurrencyEnum.USD)));
+    }
+
+    @Test
+    void findMaxLoanValue_searchesRulesWithoutBound() {
+        var limit = new BigDecimal("98765.43");
+        MortgageBusinessRule unbounded = mortgageCheckRequest -> mortgageCheckRequest.getLoanValue().getAmount().compareTo(limit) <= 0
+                ? RuleResult.PASSED : RuleResult.failed(HIGH_LOAN_TO_VALUE);
+        RulesEngine engine = new RulesEngine(List.of(new MaxMortgageForIncome(), unbounded));
+        var request = request("50000", "300000", Amount.CurrencyEnum.EUR);
+
+        BigDecimal maxLoanValue = engine.findMaxLoanValue(request).orElseThrow();
+
+        assertEquals(limit, maxLoanValue);
+        request.getLoanValue().setAmount(maxLoanValue);
+        assertEquals(0L, engine.evaluateFailures(request));
+        request.getLoanValue().setAmount(maxLoanValue.add(new BigDecimal("0.01")));
+        assertNotEquals(0L, engine.evaluateFailures(request));
+    }
+
+    @Test
+    void findMaxLoanValue_searchWithoutAnyBound_stopsAtConfiguredLimit() {
+        var configuration = new RulesEngineConfiguration();
+        configuration.setMaxLoanValueLimit(new BigDecimal("5000"));
+        RulesEngine engine = new RulesEngine(List.of(new PassingRule()), configuration);
+        RulesEngine rejecting = new RulesEngine(List.of(new FailingRule()), configuration);
+        var request = request("50000", "300000", Amount.CurrencyEnum.EUR);
+
+        assertEquals(Optional.of(new BigDecimal("5000.00")), engine.findMaxLoanValue(request));
+        assertEquals(Optional.empty(), rejecting.findMaxLoanValue(request));
+    }
+
+    private static MortgageCheckRequest request(String income, String homeValue, Amount.CurrencyEnum loanCurrency) {
+        return MortgageCheckRequest.builder()
+                .income(new Amount(new BigDecimal(income), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(new BigDecimal(homeValue), Amount.CurrencyEnum.EUR))
+                .loanValue(new Amount(BigDecimal.ZERO, loanCurrency))
+                .maturityPeriod(30)
+                .build();
+    }
+
+    private static final class PassingRule implements MortgageBusinessRule {
+        @Override
+        public RuleResult applyRule(MortgageCheckRequest mortgageCheckRequest) {
+            return RuleResult.PASSED;
+        }
+    }
+
+    private static final class FailingRule implements MortgageBusinessRule {
+        @Override
+        public RuleResult applyRule(MortgageCheckRequest mortgageCheckRequest) {
+            return RuleResult.failed(INSUFFICIENT_INCOME);
+        }
+    }
+
+    private static RulesEngineConfiguration configuration(RulesEvaluationStrategy strategy) {
+        var configuration = new RulesEngineConfiguration();
+        configuration.setStrategy(strategy);
+        configuration.setTimingSampleRate(1);
+        return configuration;
+    }
+}
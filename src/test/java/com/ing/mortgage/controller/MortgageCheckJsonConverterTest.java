@@ -0,0 +1,146 @@
+package com.ing.mortgage.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MortgageCheckJsonConverterTest {
+
+    private static final String VALID = "{\"loanValue\":{\"amount\":150000.00,\"currency\":\"EUR\"},\"maturityPeriod\":20,"
+            + "\"income\":{\"amount\":50000,\"currency\":\"EUR\"},\"homeValue\":{\"amount\":300000.5,\"currency\":\"USD\"}}";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MortgageCheckJsonConverter converter = new MortgageCheckJsonConverter(objectMapper);
+    private final MappingJackson2HttpMessageConverter dataBinding = new MappingJackson2HttpMessageConverter(objectMapper);
+
+    @Test
+    void read_validRequests_matchDataBinding() throws Exception {
+        List<String> bodies = List.of(
+                VALID,
+                "{}",
+                "{\"loanValue\":null,\"maturityPeriod\":null,\"income\":{},\"homeValue\":{\"amount\":null,\"currency\":null}}",
+                " {\"maturityPeriod\": 360, \"unknown\": {\"nested\": [1, 2, {\"a\": null}]}, \"loanValue\": {\"currency\": \"USD\", \"amount\": -0.0}} ",
+                "{\"loanValue\":{\"amount\":1E+5,\"currency\":\"EUR\"},\"income\":{\"amount\":12345678901234567890.123,\"currency\":\"EUR\"}}",
+                "{\"loanValue\":{\"amount\":999999999999999999,\"currency\":\"EUR\"},\"income\":{\"amount\":0.000000000000000001,\"currency\":\"EUR\"}}",
+                "{\"maturityPeriod\":1,\"maturityPeriod\":2,\"income\":{\"amount\":1,\"amount\":2.50,\"extra\":true,\"currency\":\"EUR\"}}",
+                VALID.substring(0, VALID.length() - 1) + ",\"loanValue\":{\"amount\":1,\"currency\":\"USD\"}}");
+
+        for (String body : bodies) {
+            Object expected = dataBinding.read(MortgageCheckRequest.class, input(body));
+            assertNotNull(converter.parseRequest(body.getBytes(StandardCharsets.UTF_8)), body);
+            assertEquals(expected, converter.read(MortgageCheckRequest.class, input(body)), body);
+        }
+    }
+
+    @Test
+    void read_inputLeftToDataBinding_matchesResultOrErrorMessage() throws Exception {
+        List<String> bodies = List.of(
+                "",
+                "null",
+                "[]",
+                "\"request\"",
+                "{",
+                "{\"maturityPeriod\":}",
+                "{\"maturityPeriod\":\"20\"}",
+                "{\"maturityPeriod\":20.0}",
+                "{\"maturityPeriod\":20.5}",
+                "{\"maturityPeriod\":99999999999}",
+                "{\"maturityPeriod\":true}",
+                "{\"loanValue\":{\"amount\":\"150000\",\"currency\":\"EUR\"}}",
+                "{\"loanValue\":{\"amount\":150000,\"currency\":\"GBP\"}}",
+                "{\"loanValue\":{\"amount\":150000,\"currency\":\"eur\"}}",
+                "{\"loanValue\":{\"amount\":150000,\"currency\":1}}",
+                "{\"loanValue\":150000}",
+                "{\"loanValue\":[]}",
+                "{\"loanValue\":{\"amount\":NaN,\"currency\":\"EUR\"}}",
+                "{\"loanValue\":{\"amount\":1,\"currency\":\"EUR\"}} trailing",
+                "{\"maturityPeriod\":20}{\"maturityPeriod\":30}",
+                "{'maturityPeriod':20}");
+
+        for (String body : bodies) {
+            Object expected;
+            try {
+                expected = dataBinding.read(MortgageCheckRequest.class, input(body));
+            } catch (Exception e) {
+                Exception actual = assertThrows(Exception.class, () -> converter.read(MortgageCheckRequest.class, input(body)), body);
+                assertEquals(e.getClass(), actual.getClass(), body);
+                assertEquals(e.getMessage(), actual.getMessage(), body);
+                continue;
+            }
+            assertEquals(expected, converter.read(MortgageCheckRequest.class, input(body)), body);
+        }
+    }
+
+    @Test
+    void write_matchesDataBindingByteForByte() throws Exception {
+        List<MortgageCheckResponse> responses = new ArrayList<>();
+        responses.add(MortgageCheckResponse.builder()
+                .feasible(true)
+                .monthlyCosts(new Amount(new BigDecimal("1140.04"), Amount.CurrencyEnum.EUR))
+                .errorCodes(List.of())
+                .traceId(UUID.randomUUID())
+                .build());
+        responses.add(MortgageCheckResponse.builder()
+                .feasible(false)
+                .monthlyCosts(new Amount(new BigDecimal("1E+3"), Amount.CurrencyEnum.USD))
+                .errorCodes(List.of(INSUFFICIENT_INCOME, HIGH_LOAN_TO_VALUE, CURRENCY_MISMATCH))
+                .build());
+        responses.add(MortgageCheckResponse.builder().monthlyCosts(new Amount()).build());
+        responses.add(new MortgageCheckResponse());
+
+        for (MortgageCheckResponse response : responses) {
+            var output = new MockHttpOutputMessage();
+            converter.write(response, MediaType.APPLICATION_JSON, output);
+
+            byte[] expected = objectMapper.writeValueAsBytes(response);
+            assertEquals(new String(expected, StandardCharsets.UTF_8), output.getBodyAsString(StandardCharsets.UTF_8));
+            assertEquals(expected.length, output.getHeaders().getContentLength());
+            assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+        }
+    }
+
+    @Test
+    void canReadAndWrite_onlyMortgageCheckRequestAndResponse() {
+        assertTrue(converter.canRead(MortgageCheckRequest.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(MortgageCheckResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(MortgageCheckRequest.class, MediaType.APPLICATION_XML));
+        assertTrue(converter.canWrite(MortgageCheckResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(MortgageCheckRequest.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void parsePlainDecimal_keepsScaleAndLeavesLongOrExponentNumbers() {
+        assertEquals(new BigDecimal("150000.00"), parse("150000.00"));
+        assertEquals(new BigDecimal("-0.0"), parse("-0.0"));
+        assertEquals(new BigDecimal("123456789012345678"), parse("123456789012345678"));
+        assertNull(parse("1234567890123456789"));
+        assertNull(parse("1e5"));
+        assertNull(parse("-"));
+    }
+
+    private static BigDecimal parse(String text) {
+        return MortgageCheckJsonConverter.parsePlainDecimal(text.toCharArray(), 0, text.length());
+    }
+
+    private static MockHttpInputMessage input(String body) {
+        var input = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return input;
+    }
+}
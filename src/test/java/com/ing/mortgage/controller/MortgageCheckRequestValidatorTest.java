@@ -0,0 +1,145 @@
+package com.ing.mortgage.controller;
+
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the precompiled validator against Hibernate Validator on random requests. The default iteration count
+ * keeps the unit test run short; run with {@code -Dmortgage.differential.iterations=1000000} for the full
+ * differential run.
+ */
+class MortgageCheckRequestValidatorTest {
+
+    private static final int ITERATIONS = Integer.getInteger("mortgage.differential.iterations", 20_000);
+    private static final long SEED = Long.getLong("mortgage.differential.seed", 20250101L);
+    private static final BigDecimal[] AMOUNTS = {
+            null, BigDecimal.ZERO, new BigDecimal("0.00"), new BigDecimal("-0.0"), new BigDecimal("-0.01"),
+            new BigDecimal("-1E-30"), new BigDecimal("1E-30"), new BigDecimal("150000.00"), new BigDecimal("-150000"),
+            new BigDecimal("1E+400"), new BigDecimal("-1E+400")};
+    private static final Integer[] MATURITY_PERIODS = {null, Integer.MIN_VALUE, -1, 0, 1, 2, 360, Integer.MAX_VALUE};
+
+    private static final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(validatorFactory.getValidator());
+    private final MortgageCheckRequestValidator validator = new MortgageCheckRequestValidator(validatorFactory.getValidator());
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @AfterAll
+    static void closeValidatorFactory() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void validate_randomRequests_matchBeanValidation() {
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+        var random = new Random(SEED);
+        int rejected = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            var request = MortgageCheckRequest.builder()
+                    .loanValue(randomAmount(random))
+                    .maturityPeriod(random.nextInt(4) == 0 ? pick(random, MATURITY_PERIODS) : random.nextInt(-10, 500))
+                    .income(randomAmount(random))
+                    .homeValue(randomAmount(random))
+                    .build();
+
+            BindingResult expected = validate(beanValidator, request);
+            BindingResult actual = validate(validator, request);
+
+            assertEquals(expected.hasErrors(), actual.hasErrors(), request::toString);
+            assertEquals(fieldErrors(expected), fieldErrors(actual), request::toString);
+            rejected += actual.hasErrors() ? 1 : 0;
+        }
+        // the generated requests cover both outcomes
+        assertTrue(rejected > 0 && rejected < ITERATIONS);
+    }
+
+    @Test
+    void validate_singleViolation_reportsBeanValidationMessage() {
+        LocaleContextHolder.setLocale(Locale.US);
+        var request = validRequest();
+        request.getIncome().setAmount(new BigDecimal("-1"));
+
+        BindingResult result = validate(validator, request);
+
+        assertEquals(1, result.getErrorCount());
+        FieldError error = result.getFieldErrors().getFirst();
+        assertEquals("income.amount: must be greater than or equal to 0.0", error.getField() + ": " + error.getDefaultMessage());
+
+        request = validRequest();
+        request.setLoanValue(null);
+        error = validate(validator, request).getFieldErrors().getFirst();
+        assertEquals("loanValue: must not be null", error.getField() + ": " + error.getDefaultMessage());
+
+        assertFalse(validate(validator, validRequest()).hasErrors());
+    }
+
+    @Test
+    void validate_otherLocale_leftToBeanValidation() {
+        LocaleContextHolder.setLocale(Locale.GERMAN);
+        var request = validRequest();
+        request.setMaturityPeriod(0);
+
+        assertEquals(fieldErrors(validate(beanValidator, request)), fieldErrors(validate(validator, request)));
+    }
+
+    private static BindingResult validate(org.springframework.validation.Validator validator, MortgageCheckRequest request) {
+        var bindingResult = new BeanPropertyBindingResult(request, "mortgageCheckRequest");
+        validator.validate(request, bindingResult);
+        return bindingResult;
+    }
+
+    private static Set<String> fieldErrors(BindingResult bindingResult) {
+        return bindingResult.getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage() + " [" + error.getRejectedValue() + "] "
+                        + Arrays.toString(error.getCodes()))
+                .collect(Collectors.toSet());
+    }
+
+    private static Amount randomAmount(Random random) {
+        return switch (random.nextInt(8)) {
+            case 0 -> null;
+            case 1 -> new Amount(pick(random, AMOUNTS), null);
+            case 2, 3 -> new Amount(pick(random, AMOUNTS), pick(random, Amount.CurrencyEnum.values()));
+            default -> new Amount(BigDecimal.valueOf(random.nextLong(-1_000_000, 10_000_000), random.nextInt(0, 3)),
+                    pick(random, Amount.CurrencyEnum.values()));
+        };
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static MortgageCheckRequest validRequest() {
+        return MortgageCheckRequest.builder()
+                .loanValue(new Amount(new BigDecimal("150000"), Amount.CurrencyEnum.EUR))
+                .maturityPeriod(20)
+                .income(new Amount(new BigDecimal("50000"), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(new BigDecimal("300000"), Amount.CurrencyEnum.EUR))
+                .build();
+    }
+}
@@ -3,10 +3,16 @@ package com.ing.mortgage.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.ing.mortgage.configuration.MortgageLoggingConfiguration;
+import com.ing.mortgage.logging.PayloadLogSampler;
+import com.ing.mortgage.model.MortgageCheckBatchRequest;
+import com.ing.mortgage.model.MortgageCheckBatchResponse;
 import com.ing.mortgage.model.MortgageCheckRequest;
 import com.ing.mortgage.model.MortgageCheckResponse;
 import com.ing.mortgage.model.MortgageRatesResponse;
+import com.ing.mortgage.service.MortgageCheckBatchService;
 import com.ing.mortgage.service.MortgageCheckService;
+import com.ing.mortgage.service.PricingGridService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -14,6 +20,9 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 class MortgageControllerTest {
@@ -21,25 +30,47 @@ class MortgageControllerTest {
     @Mock
     private MortgageCheckService mortgageCheckService;
 
+    @Mock
+    private MortgageCheckBatchService mortgageCheckBatchService;
+
+    @Mock
+    private MortgageCheckBatchValidator mortgageCheckBatchValidator;
+
+    @Mock
+    private PricingGridService pricingGridService;
+
     private MortgageController mortgageController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mortgageController = new MortgageController(mortgageCheckService);
+        mortgageController = new MortgageController(mortgageCheckService, mortgageCheckBatchService, mortgageCheckBatchValidator, pricingGridService,
+                new PayloadLogSampler(new MortgageLoggingConfiguration()), Optional.empty());
     }
 
     @Test
     void testInterestRatesGet_returnsRatesResponse() {
         UUID xTraceId = UUID.randomUUID();
         MortgageRatesResponse mockResponse = MortgageRatesResponse.builder().build();
-        when(mortgageCheckService.getAllInterestRates()).thenReturn(mockResponse);
+        when(mortgageCheckService.getAllInterestRates(null)).thenReturn(mockResponse);
 
-        ResponseEntity<MortgageRatesResponse> response = mortgageController.getInterestRates(xTraceId);
+        ResponseEntity<MortgageRatesResponse> response = mortgageController.getInterestRates(xTraceId, null);
 
         assertEquals(mockResponse, response.getBody());
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(mortgageCheckService).getAllInterestRates();
+        verify(mortgageCheckService).getAllInterestRates(null);
+    }
+
+    @Test
+    void testInterestRatesGet_asOf_passesInstant() {
+        UUID xTraceId = UUID.randomUUID();
+        OffsetDateTime asOf = OffsetDateTime.parse("2025-01-01T12:00:00+01:00");
+        MortgageRatesResponse mockResponse = MortgageRatesResponse.builder().build();
+        when(mortgageCheckService.getAllInterestRates(asOf.toInstant())).thenReturn(mockResponse);
+
+        ResponseEntity<MortgageRatesResponse> response = mortgageController.getInterestRates(xTraceId, asOf);
+
+        assertEquals(mockResponse, response.getBody());
     }
 
     @Test
@@ -47,13 +78,27 @@ class MortgageControllerTest {
         UUID xTraceId = UUID.randomUUID();
         MortgageCheckRequest request = new MortgageCheckRequest();
         MortgageCheckResponse mockResponse = new MortgageCheckResponse();
-        when(mortgageCheckService.checkMortgage(request)).thenReturn(mockResponse);
+        when(mortgageCheckService.checkMortgage(request, null)).thenReturn(mockResponse);
 
-        ResponseEntity<MortgageCheckResponse> response = mortgageController.checkMortgage(request, xTraceId);
+        ResponseEntity<MortgageCheckResponse> response = mortgageController.checkMortgage(request, xTraceId, null);
 
         assertEquals(mockResponse, response.getBody());
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(mortgageCheckService).checkMortgage(request);
+        verify(mortgageCheckService).checkMortgage(request, null);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testMortgageCheckBatch_returnsBatchResponse() {
+        UUID xTraceId = UUID.randomUUID();
+        List<MortgageCheckRequest> requests = List.of(new MortgageCheckRequest(), new MortgageCheckRequest());
+        MortgageCheckBatchRequest request = MortgageCheckBatchRequest.builder().requests(requests).build();
+        MortgageCheckBatchResponse mockResponse = MortgageCheckBatchResponse.builder().build();
+        when(mortgageCheckBatchService.checkMortgages(requests)).thenReturn(mockResponse);
+
+        ResponseEntity<MortgageCheckBatchResponse> response = mortgageController.checkMortgageBatch(request, xTraceId);
+
+        assertEquals(mockResponse, response.getBody());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(mortgageCheckBatchService).checkMortgages(requests);
+    }
+}
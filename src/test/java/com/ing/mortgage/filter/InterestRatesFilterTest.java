@@ -0,0 +1,194 @@
+package com.ing.mortgage.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.configuration.MortgageRatesConfiguration;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRatesResponse;
+import com.ing.mortgage.repository.InMemoryMortgageRateRepository;
+import com.ing.mortgage.service.InterestRatesRenderer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestRatesFilterTest {
+
+    private static final Instant LAST_UPDATE = Instant.parse("2025-01-02T00:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private InMemoryMortgageRateRepository repository;
+    private InterestRatesFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        var configuration = new MortgageRatesConfiguration();
+        configuration.setRates(List.of(
+                new MortgageRateDb(20, BigDecimal.valueOf(4.0), Instant.parse("2025-01-01T00:00:00Z")),
+                new MortgageRateDb(30, BigDecimal.valueOf(4.5), LAST_UPDATE)));
+        repository = new InMemoryMortgageRateRepository(configuration);
+        filter = new InterestRatesFilter(new InterestRatesRenderer(repository, objectMapper), "/api");
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(X_TRACE_ID);
+    }
+
+    @Test
+    void doFilter_rendersRatesWithTraceIdAndValidators() throws Exception {
+        UUID traceId = UUID.randomUUID();
+        MDC.put(X_TRACE_ID, traceId.toString());
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        filter.doFilter(get(), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertNotNull(response.getHeader("ETag"));
+        assertEquals(LAST_UPDATE.toEpochMilli(), response.getDateHeader("Last-Modified"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        var body = objectMapper.readValue(response.getContentAsByteArray(), MortgageRatesResponse.class);
+        assertEquals(traceId, body.getTraceId());
+        assertEquals(2, body.getRates().size());
+        assertEquals(30, body.getRates().get(1).getMaturityPeriod());
+    }
+
+    @Test
+    void doFilter_matchingETag_returnsNotModified() throws Exception {
+        MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+        var first = new MockHttpServletResponse();
+        filter.doFilter(get(), first, new MockFilterChain());
+
+        var request = get();
+        request.addHeader("If-None-Match", first.getHeader("ETag"));
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void doFilter_notModifiedSince_returnsNotModified() throws Exception {
+        MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+        var request = get();
+        request.addHeader("If-Modified-Since", LAST_UPDATE.toEpochMilli());
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ratesChanged_returnsNewETag() throws Exception {
+        MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+        var first = new MockHttpServletResponse();
+        filter.doFilter(get(), first, new MockFilterChain());
+
+        repository.updateMortgageRates(List.of(new MortgageRateDb(20, BigDecimal.valueOf(5.0), LAST_UPDATE)));
+        var request = get();
+        request.addHeader("If-None-Match", first.getHeader("ETag"));
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertNotEquals(first.getHeader("ETag"), response.getHeader("ETag"));
+    }
+
+    @Test
+    void doFilter_acceptCbor_passesRequestOnWithCborValidators() throws Exception {
+        MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+        var json = new MockHttpServletResponse();
+        filter.doFilter(get(), json, new MockFilterChain());
+        var request = get();
+        request.addHeader("Accept", "application/json;q=0.5, application/cbor");
+        var chain = new MockFilterChain();
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertNotNull(response.getHeader("ETag"));
+        assertNotEquals(json.getHeader("ETag"), response.getHeader("ETag"));
+        assertEquals("Accept", response.getHeader("Vary"));
+
+        var conditional = get();
+        conditional.addHeader("Accept", "application/cbor");
+        conditional.addHeader("If-None-Match", response.getHeader("ETag"));
+        var notModified = new MockHttpServletResponse();
+        var conditionalChain = new MockFilterChain();
+        filter.doFilter(conditional, notModified, conditionalChain);
+
+        assertEquals(304, notModified.getStatus());
+        assertNull(conditionalChain.getRequest());
+    }
+
+    @Test
+    void prefersCbor_followsQualityAndSpecificity() {
+        assertFalse(InterestRatesFilter.prefersCbor(withAccept(null)));
+        assertFalse(InterestRatesFilter.prefersCbor(withAccept("*/*")));
+        assertFalse(InterestRatesFilter.prefersCbor(withAccept("application/json, application/cbor")));
+        assertFalse(InterestRatesFilter.prefersCbor(withAccept("application/cbor;q=0.1, application/*")));
+        assertFalse(InterestRatesFilter.prefersCbor(withAccept("not a media type")));
+        assertTrue(InterestRatesFilter.prefersCbor(withAccept("application/cbor")));
+        assertTrue(InterestRatesFilter.prefersCbor(withAccept("*/*, application/cbor")));
+        assertTrue(InterestRatesFilter.prefersCbor(withAccept("application/json;q=0.9, application/cbor")));
+    }
+
+    @Test
+    void doFilter_invalidTraceId_passesRequestOn() throws Exception {
+        MDC.put(X_TRACE_ID, "not-a-uuid");
+        var chain = new MockFilterChain();
+
+        filter.doFilter(get(), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_asOf_passesRequestOn() throws Exception {
+        MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+        var request = get();
+        request.setParameter("asOf", "2025-01-01T00:00:00Z");
+        var chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_otherPath_passesRequestOn() throws Exception {
+        MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+        var chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/mortgage-check"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/interest-rates");
+    }
+
+    private static MockHttpServletRequest withAccept(String accept) {
+        var request = new MockHttpServletRequest("GET", "/api/interest-rates");
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        return request;
+    }
+}
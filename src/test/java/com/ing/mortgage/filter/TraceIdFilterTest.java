@@ -0,0 +1,105 @@
+package com.ing.mortgage.filter;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceIdFilterTest {
+
+    private final TraceIdFilter filter = new TraceIdFilter();
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(X_TRACE_ID);
+        TraceContext.clear();
+    }
+
+    @Test
+    void doFilter_withHeader_usesHeaderAndParsesItOnce() throws Exception {
+        UUID traceId = UUID.randomUUID();
+        var request = new MockHttpServletRequest();
+        request.addHeader(X_TRACE_ID, traceId.toString());
+        var seen = new AtomicReference<UUID>();
+        var mdc = new AtomicReference<String>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            seen.set(TraceContext.currentTraceId());
+            mdc.set(MDC.get(X_TRACE_ID));
+        });
+
+        assertEquals(traceId, seen.get());
+        assertEquals(traceId.toString(), mdc.get());
+        assertNull(MDC.get(X_TRACE_ID));
+        assertNull(TraceContext.currentTraceId());
+    }
+
+    @Test
+    void doFilter_withInvalidHeader_logsHeaderWithoutTraceId() throws Exception {
+        var request = new MockHttpServletRequest();
+        request.addHeader(X_TRACE_ID, "not-a-uuid");
+        var seen = new AtomicReference<UUID>(UUID.randomUUID());
+        var mdc = new AtomicReference<String>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            seen.set(TraceContext.currentTraceId());
+            mdc.set(MDC.get(X_TRACE_ID));
+        });
+
+        assertNull(seen.get());
+        assertEquals("not-a-uuid", mdc.get());
+    }
+
+    @Test
+    void doFilter_withoutHeader_generatesTraceId() throws Exception {
+        UUID generated = UUID.randomUUID();
+        var filter = new TraceIdFilter(Optional.of(() -> generated));
+        var seen = new AtomicReference<UUID>();
+        var mdc = new AtomicReference<String>();
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) -> {
+            seen.set(TraceContext.currentTraceId());
+            mdc.set(MDC.get(X_TRACE_ID));
+        });
+
+        assertEquals(generated, seen.get());
+        assertEquals(generated.toString(), mdc.get());
+    }
+
+    @Test
+    void doFilter_failingChain_clearsTraceId() {
+        var request = new MockHttpServletRequest();
+        request.addHeader(X_TRACE_ID, UUID.randomUUID().toString());
+
+        assertThrows(ServletException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            throw new ServletException("failed");
+        }));
+
+        assertNull(MDC.get(X_TRACE_ID));
+        assertNull(TraceContext.currentTraceId());
+    }
+
+    @Test
+    void generate_producesUniqueVersion4Uuids() {
+        var generator = new ThreadLocalRandomTraceIdGenerator();
+        var traceIds = new HashSet<UUID>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID traceId = generator.generate();
+            assertEquals(4, traceId.version());
+            assertEquals(2, traceId.variant());
+            assertEquals(traceId, UUID.fromString(traceId.toString()));
+            traceIds.add(traceId);
+        }
+        assertEquals(10_000, traceIds.size());
+    }
+}
@@ -0,0 +1,108 @@
+package com.ing.mortgage.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropCountingAsyncAppenderTest {
+
+    private static final int QUEUE_SIZE = 4;
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = loggerContext.getLogger(DropCountingAsyncAppenderTest.class);
+    private final BlockingAppender blockingAppender = new BlockingAppender();
+    private final DropCountingAsyncAppender appender = new DropCountingAsyncAppender();
+
+    @BeforeEach
+    void setUp() {
+        blockingAppender.setContext(loggerContext);
+        blockingAppender.start();
+        appender.setContext(loggerContext);
+        appender.setName("TEST_ASYNC");
+        appender.setQueueSize(QUEUE_SIZE);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.addAppender(blockingAppender);
+        appender.start();
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockingAppender.release.countDown();
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        logger.setLevel(null);
+        appender.stop();
+        blockingAppender.stop();
+    }
+
+    @Test
+    void append_fullQueue_dropsAndCountsWithoutBlocking() throws Exception {
+        logger.info("first");
+        // the worker holds the first event, so the queue fills up behind it
+        assertTrue(blockingAppender.entered.await(30, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            logger.info("event {}", i);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(20 - QUEUE_SIZE, appender.getDroppedCount());
+        assertTrue(elapsedMillis < 5_000, "logging blocked for " + elapsedMillis + " ms");
+
+        blockingAppender.release.countDown();
+        appender.stop();
+        assertEquals(List.of("first", "event 0", "event 1", "event 2", "event 3"), blockingAppender.messages);
+    }
+
+    @Test
+    void bindTo_registersDroppedCounterAndQueueGauge() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        logger.info("first");
+        assertTrue(blockingAppender.entered.await(30, TimeUnit.SECONDS));
+        for (int i = 0; i < QUEUE_SIZE + 2; i++) {
+            logger.info("event {}", i);
+        }
+
+        new AsyncLoggingMetrics().bindTo(registry);
+
+        assertEquals(2.0, registry.get("logging.events.dropped").tag("appender", "TEST_ASYNC").functionCounter().count());
+        assertEquals(QUEUE_SIZE, registry.get("logging.queue.size").tag("appender", "TEST_ASYNC").gauge().value());
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            messages.add(event.getFormattedMessage());
+            entered.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ing.mortgage.logging;
+
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.PricingGridRequest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFieldsTest {
+
+    @Test
+    void of_mortgageCheckRequest_rendersCompactFields() {
+        var request = MortgageCheckRequest.builder()
+                .loanValue(new Amount(new BigDecimal("150000.00"), Amount.CurrencyEnum.EUR))
+                .maturityPeriod(20)
+                .income(new Amount(BigDecimal.valueOf(50000), Amount.CurrencyEnum.EUR))
+                .build();
+
+        assertEquals("loanValue=150000.00 EUR, maturityPeriod=20, income=50000 EUR, homeValue=null",
+                LogFields.of(request).toString());
+    }
+
+    @Test
+    void toString_rendersTheRequestOnlyWhenLogged() {
+        var request = PricingGridRequest.builder()
+                .minLoanValue(new Amount(BigDecimal.ONE, Amount.CurrencyEnum.EUR))
+                .maxLoanValue(new Amount(BigDecimal.TEN, Amount.CurrencyEnum.EUR))
+                .loanValueStep(BigDecimal.ONE)
+                .build();
+        LogFields fields = LogFields.of(request);
+
+        request.setLoanValueStep(BigDecimal.TWO);
+
+        assertEquals("minLoanValue=1 EUR, maxLoanValue=10 EUR, loanValueStep=2", fields.toString());
+    }
+}
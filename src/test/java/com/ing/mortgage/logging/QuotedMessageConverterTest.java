@@ -0,0 +1,27 @@
+package com.ing.mortgage.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class QuotedMessageConverterTest {
+
+    @Test
+    void escape_plainMessage_unchanged() {
+        String message = "Mortgage check: loanValue=150000 EUR, maturityPeriod=20";
+
+        assertSame(message, QuotedMessageConverter.escape(message));
+    }
+
+    @Test
+    void escape_quotesBackslashesAndLineBreaks_escaped() {
+        assertEquals("say \\\"hi\\\" \\\\ path\\\\to\\nnext\\r\\nline\\tend",
+                QuotedMessageConverter.escape("say \"hi\" \\ path\\to\nnext\r\nline\tend"));
+    }
+
+    @Test
+    void escape_null_empty() {
+        assertEquals("", QuotedMessageConverter.escape(null));
+    }
+}
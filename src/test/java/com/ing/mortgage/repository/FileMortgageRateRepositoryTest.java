@@ -0,0 +1,128 @@
+package com.ing.mortgage.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.configuration.MortgageRatesFileConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileMortgageRateRepositoryTest {
+
+    private static final String RATES = """
+            [{"maturityPeriod": 20, "interestRate": 4.0, "lastUpdate": "2025-01-01T00:00:00Z"},
+             {"maturityPeriod": 10, "interestRate": 3.0, "lastUpdate": "2025-01-01T00:00:00Z"}]
+            """;
+    private static final String NEW_RATES = """
+            [{"maturityPeriod": 10, "interestRate": 3.5, "lastUpdate": "2025-02-01T00:00:00Z"}]
+            """;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private Path ratesFile;
+    private MortgageRatesFileConfiguration configuration;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ratesFile = directory.resolve("rates.json");
+        Files.writeString(ratesFile, RATES);
+        configuration = new MortgageRatesFileConfiguration();
+        configuration.setPath(ratesFile);
+    }
+
+    @Test
+    void constructor_loadsSortedRatesFromFile() {
+        var repository = new FileMortgageRateRepository(configuration, objectMapper);
+
+        assertEquals(1, repository.getCurrentMortgageRateTable().getVersion());
+        assertEquals(10, repository.getCurrentMortgageRates().getFirst().maturityPeriod());
+        assertEquals(BigDecimal.valueOf(4.0), repository.getCurrentMortgageRateTable().findRate(25).interestRate());
+    }
+
+    @Test
+    void constructor_invalidFile_failsFast() throws IOException {
+        Files.writeString(ratesFile, "[]");
+
+        assertThrows(IllegalStateException.class, () -> new FileMortgageRateRepository(configuration, objectMapper));
+    }
+
+    @Test
+    void reload_changedFile_publishesNewVersion() throws IOException {
+        var repository = new FileMortgageRateRepository(configuration, objectMapper);
+        Files.writeString(ratesFile, NEW_RATES);
+
+        assertTrue(repository.reload());
+
+        assertEquals(2, repository.getCurrentMortgageRateTable().getVersion());
+        assertEquals(BigDecimal.valueOf(3.5), repository.getCurrentMortgageRateTable().findRate(20).interestRate());
+    }
+
+    @Test
+    void reload_unchangedRates_keepsVersion() {
+        var repository = new FileMortgageRateRepository(configuration, objectMapper);
+
+        assertFalse(repository.reload());
+
+        assertEquals(1, repository.getCurrentMortgageRateTable().getVersion());
+    }
+
+    @Test
+    void reload_invalidFile_keepsCurrentSnapshotAndCountsFailure() throws IOException {
+        var repository = new FileMortgageRateRepository(configuration, objectMapper);
+        var registry = new SimpleMeterRegistry();
+        repository.bindTo(registry);
+        var before = repository.getCurrentMortgageRateTable();
+
+        Files.writeString(ratesFile, """
+                [{"maturityPeriod": 10, "interestRate": 3.5, "lastUpdate": "2025-02-01T00:00:00Z"},
+                 {"maturityPeriod": 10, "interestRate": 3.6, "lastUpdate": "2025-02-01T00:00:00Z"}]
+                """);
+        assertFalse(repository.reload());
+        Files.writeString(ratesFile, "[{\"maturityPeriod\": 10, \"interestRate\": -1, \"lastUpdate\": \"2025-02-01T00:00:00Z\"}]");
+        assertFalse(repository.reload());
+        Files.writeString(ratesFile, "[{\"maturityPeriod\": 10,");
+        assertFalse(repository.reload());
+
+        assertSame(before, repository.getCurrentMortgageRateTable());
+        assertEquals(3.0, registry.get("mortgage.rates.reload.failures").functionCounter().count());
+        assertEquals(3.0, registry.get("mortgage.rates.reload.calls").functionCounter().count());
+        assertEquals(1.0, registry.get("mortgage.rates.version").gauge().value());
+    }
+
+    @Test
+    void start_replacedFile_isReloadedByWatcher() throws Exception {
+        var repository = new FileMortgageRateRepository(configuration, objectMapper);
+        repository.start();
+        try {
+            Path replacement = directory.resolve("rates.json.tmp");
+            Files.writeString(replacement, NEW_RATES);
+            Files.move(replacement, ratesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // the default watch service polls on some platforms
+            awaitTrue(() -> repository.getCurrentMortgageRateTable().getVersion() == 2, 30_000);
+            assertEquals(BigDecimal.valueOf(3.5), repository.getCurrentMortgageRateTable().findRate(10).interestRate());
+        } finally {
+            repository.stop();
+        }
+        assertFalse(repository.isRunning());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within " + timeoutMillis + " ms");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.ing.mortgage.repository;
+
+import com.ing.mortgage.configuration.MortgageRatesConfiguration;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryMortgageRateRepositoryTest {
+
+    private static final int MAX_MATURITY = 40;
+
+    private List<MortgageRateDb> ratesA;
+    private List<MortgageRateDb> ratesB;
+
+    @BeforeEach
+    void setUp() {
+        ratesA = new ArrayList<>();
+        ratesB = new ArrayList<>();
+        for (int maturity = 5; maturity <= 35; maturity += 5) {
+            ratesA.add(new MortgageRateDb(maturity, BigDecimal.valueOf(1000 + maturity), null));
+            ratesB.add(new MortgageRateDb(maturity + 2, BigDecimal.valueOf(2000 + maturity), null));
+        }
+        Collections.shuffle(ratesA);
+        Collections.shuffle(ratesB);
+    }
+
+    @Test
+    void getCurrentMortgageRates_returnsSortedCopyAndLeavesConfigurationUntouched() {
+        var configuration = new MortgageRatesConfiguration();
+        var configuredRates = new ArrayList<>(ratesA);
+        configuration.setRates(configuredRates);
+
+        var repository = new InMemoryMortgageRateRepository(configuration);
+
+        assertEquals(ratesA, configuredRates);
+        assertSorted(repository.getCurrentMortgageRates());
+        assertThrows(UnsupportedOperationException.class, () -> repository.getCurrentMortgageRates().clear());
+    }
+
+    @Test
+    void updateMortgageRates_publishesNewSnapshotWithHigherVersion() {
+        var configuration = new MortgageRatesConfiguration();
+        configuration.setRates(ratesA);
+        var repository = new InMemoryMortgageRateRepository(configuration);
+        MortgageRateTable before = repository.getCurrentMortgageRateTable();
+
+        repository.updateMortgageRates(ratesB);
+
+        MortgageRateTable after = repository.getCurrentMortgageRateTable();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(legacyLookup(ratesA, 7), before.findRate(7));
+        assertEquals(legacyLookup(ratesB, 7), after.findRate(7));
+    }
+
+    @Test
+    void findRate_matchesLegacyBandSemanticsForAllMaturities() {
+        var withDuplicates = new ArrayList<>(ratesA);
+        withDuplicates.add(new MortgageRateDb(10, BigDecimal.valueOf(9999), null));
+        Collections.shuffle(withDuplicates);
+        MortgageRateTable table = MortgageRateTable.of(1, withDuplicates);
+
+        for (int maturity = 1; maturity <= MAX_MATURITY; maturity++) {
+            assertEquals(legacyLookup(withDuplicates, maturity), table.findRate(maturity), "maturity " + maturity);
+        }
+    }
+
+    @Test
+    void concurrentLookupsDuringUpdates_alwaysSeeConsistentSnapshot() throws Exception {
+        var configuration = new MortgageRatesConfiguration();
+        configuration.setRates(new ArrayList<>(ratesA));
+        var repository = new InMemoryMortgageRateRepository(configuration);
+
+        var expectedA = new MortgageRateDb[MAX_MATURITY + 1];
+        var expectedB = new MortgageRateDb[MAX_MATURITY + 1];
+        for (int maturity = 1; maturity <= MAX_MATURITY; maturity++) {
+            expectedA[maturity] = legacyLookup(ratesA, maturity);
+            expectedB[maturity] = legacyLookup(ratesB, maturity);
+        }
+
+        int readers = 8;
+        int lookupsPerReader = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                start.await();
+                boolean useA = false;
+                while (running.get()) {
+                    List<MortgageRateDb> next = new ArrayList<>(useA ? ratesA : ratesB);
+                    Collections.shuffle(next);
+                    repository.updateMortgageRates(next);
+                    useA = !useA;
+                }
+                return null;
+            });
+            List<Future<?>> lookups = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                lookups.add(executor.submit(() -> {
+                    start.await();
+                    var random = ThreadLocalRandom.current();
+                    for (int j = 0; j < lookupsPerReader; j++) {
+                        int maturity = random.nextInt(1, MAX_MATURITY + 1);
+                        MortgageRateTable table = repository.getCurrentMortgageRateTable();
+                        MortgageRateDb rate = table.findRate(maturity);
+                        boolean fromA = rate.interestRate().intValue() < 2000;
+                        assertEquals(fromA ? expectedA[maturity] : expectedB[maturity], rate);
+                        assertSorted(table.getRates());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> lookup : lookups) {
+                lookup.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            writer.get(30, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertSorted(List<MortgageRateDb> rates) {
+        for (int i = 1; i < rates.size(); i++) {
+            assertTrue(rates.get(i - 1).maturityPeriod() <= rates.get(i).maturityPeriod());
+        }
+    }
+
+    // the sort-then-scan lookup InterestRatesService used before rate table snapshots
+    private static MortgageRateDb legacyLookup(List<MortgageRateDb> source, int maturityPeriod) {
+        List<MortgageRateDb> rates = new ArrayList<>(source);
+        rates.sort((a, b) -> Integer.compare(a.maturityPeriod(), b.maturityPeriod()));
+        for (int i = 0; i < rates.size(); i++) {
+            MortgageRateDb current = rates.get(i);
+            MortgageRateDb next = (i + 1 < rates.size()) ? rates.get(i + 1) : null;
+            if (maturityPeriod <= current.maturityPeriod() ||
+                    (next != null && maturityPeriod < next.maturityPeriod())) {
+                return current;
+            }
+        }
+        return rates.getLast();
+    }
+}
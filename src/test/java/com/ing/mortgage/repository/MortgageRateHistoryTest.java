@@ -0,0 +1,201 @@
+package com.ing.mortgage.repository;
+
+import com.ing.mortgage.configuration.MortgageRatesHistoryConfiguration;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MortgageRateHistoryTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private MortgageRatesHistoryConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new MortgageRatesHistoryConfiguration();
+        configuration.setPath(directory.resolve("rates-history.bin"));
+        configuration.setInitialCapacity(4);
+    }
+
+    @Test
+    void getRatesAsOf_returnsTableInEffectAtInstant() throws IOException {
+        var history = new MortgageRateHistory(configuration);
+        history.onMortgageRatesPublished(table(1, START, "3.5", "4.0"));
+        history.onMortgageRatesPublished(table(2, START.plusSeconds(3600), "3.6", "4.1"));
+
+        assertEquals(Optional.empty(), history.getRatesAsOf(START.minusMillis(1)));
+        assertEquals(BigDecimal.valueOf(35, 1), rateAsOf(history, START, 10));
+        assertEquals(BigDecimal.valueOf(35, 1), rateAsOf(history, START.plusSeconds(3599), 10));
+        assertEquals(BigDecimal.valueOf(41, 1), rateAsOf(history, START.plusSeconds(3600), 20));
+        assertEquals(BigDecimal.valueOf(41, 1), rateAsOf(history, START.plusSeconds(86400), 20));
+        assertEquals(START, history.getRatesAsOf(START).orElseThrow().getRates().getFirst().lastUpdate());
+    }
+
+    @Test
+    void onMortgageRatesPublished_unchangedOrOlderTable_isNotAppended() throws IOException {
+        var history = new MortgageRateHistory(configuration);
+        history.onMortgageRatesPublished(table(2, START, "3.5", "4.0"));
+        history.onMortgageRatesPublished(table(1, START.plusSeconds(60), "9.9", "9.9"));
+        history.onMortgageRatesPublished(table(3, START, "3.5", "4.0"));
+
+        assertEquals(2, history.size());
+    }
+
+    @Test
+    void onMortgageRatesPublished_olderLastUpdate_isEffectiveWhenPublished() throws IOException {
+        var clock = new MutableClock(START.plusSeconds(3600));
+        var history = new MortgageRateHistory(configuration, clock);
+        history.onMortgageRatesPublished(table(1, START, "3.5", "4.0"));
+        history.onMortgageRatesPublished(table(2, START.minusSeconds(60), "3.6", "4.1"));
+
+        assertEquals(Optional.empty(), history.getRatesAsOf(START.minusSeconds(1)));
+        assertEquals(BigDecimal.valueOf(35, 1), rateAsOf(history, START.plusSeconds(3599), 10));
+        assertEquals(BigDecimal.valueOf(36, 1), rateAsOf(history, START.plusSeconds(3600), 10));
+    }
+
+    @Test
+    void onMortgageRatesPublished_sameLastUpdate_keepsPreviousTableReachable() throws IOException {
+        // published before the lastUpdate it declares has passed: effective right after the previous table
+        var clock = new MutableClock(START.minusSeconds(60));
+        var history = new MortgageRateHistory(configuration, clock);
+        history.onMortgageRatesPublished(table(1, START, "3.5", "4.0"));
+        history.onMortgageRatesPublished(table(2, START, "3.6", "4.1"));
+
+        assertEquals(BigDecimal.valueOf(35, 1), rateAsOf(history, START, 10));
+        assertEquals(1, history.getRatesAsOf(START).orElseThrow().getVersion());
+        assertEquals(BigDecimal.valueOf(36, 1), rateAsOf(history, START.plusMillis(1), 10));
+    }
+
+    @Test
+    void reopen_keepsHistoryAndAppendsAfterIt() throws IOException {
+        var history = new MortgageRateHistory(configuration);
+        history.onMortgageRatesPublished(table(1, START, "3.5", "4.0"));
+        history.onMortgageRatesPublished(table(2, START.plusSeconds(60), "3.6", "4.1"));
+        history.destroy();
+
+        var reopened = new MortgageRateHistory(configuration);
+        // the same rates published again after a restart are not a new table
+        reopened.onMortgageRatesPublished(table(1, START.plusSeconds(60), "3.6", "4.1"));
+        reopened.onMortgageRatesPublished(table(2, START.plusSeconds(120), "3.7", "4.2"));
+
+        assertEquals(6, reopened.size());
+        assertEquals(BigDecimal.valueOf(35, 1), rateAsOf(reopened, START, 10));
+        assertEquals(BigDecimal.valueOf(36, 1), rateAsOf(reopened, START.plusSeconds(119), 10));
+        assertEquals(BigDecimal.valueOf(37, 1), rateAsOf(reopened, START.plusSeconds(120), 10));
+        assertEquals(3, reopened.getRatesAsOf(START.plusSeconds(120)).orElseThrow().getVersion());
+    }
+
+    @Test
+    void reopen_sameRatesWithSubMillisecondLastUpdate_isNotAppendedAgain() throws IOException {
+        Instant lastUpdate = START.plusNanos(123_456_789);
+        var history = new MortgageRateHistory(configuration);
+        history.onMortgageRatesPublished(table(1, lastUpdate, "3.5", "4.0"));
+        history.destroy();
+
+        var reopened = new MortgageRateHistory(configuration);
+        reopened.onMortgageRatesPublished(table(1, lastUpdate, "3.5", "4.0"));
+
+        assertEquals(2, reopened.size());
+    }
+
+    @Test
+    void constructor_otherFile_isRejected() throws IOException {
+        Files.writeString(configuration.getPath(), "not a rate history, just some text");
+
+        assertThrows(IllegalStateException.class, () -> new MortgageRateHistory(configuration));
+    }
+
+    @Test
+    void getRatesAsOf_manyTables_matchesLinearScan() throws IOException {
+        var clock = new MutableClock(START);
+        var history = new MortgageRateHistory(configuration, clock);
+        var random = ThreadLocalRandom.current();
+        List<Instant> effective = new ArrayList<>();
+        List<BigDecimal> rates = new ArrayList<>();
+        Instant instant = START;
+        for (int version = 1; version <= 50_000; version++) {
+            // several tables may share a lastUpdate; the later ones are effective when published
+            instant = instant.plusSeconds(random.nextInt(3));
+            clock.instant = instant.plusMillis(random.nextInt(1_000));
+            BigDecimal rate = BigDecimal.valueOf(version, 3);
+            history.onMortgageRatesPublished(table(version, instant, rate.toPlainString(), "5.0"));
+            Instant previous = effective.isEmpty() ? null : effective.getLast();
+            effective.add(previous == null || instant.isAfter(previous)
+                    ? instant
+                    : Collections.max(List.of(clock.instant, previous.plusMillis(1))));
+            rates.add(rate);
+        }
+
+        for (int i = 0; i < 2_000; i++) {
+            Instant asOf = START.plusSeconds(random.nextLong(-5, instant.getEpochSecond() - START.getEpochSecond() + 5));
+            int expected = -1;
+            for (int j = 0; j < effective.size(); j++) {
+                if (!effective.get(j).isAfter(asOf)) {
+                    expected = j;
+                }
+            }
+            Optional<MortgageRateTable> table = history.getRatesAsOf(asOf);
+            if (expected < 0) {
+                assertEquals(Optional.empty(), table);
+            } else {
+                assertEquals(rates.get(expected), table.orElseThrow().findRate(10).interestRate(), "as of " + asOf);
+            }
+        }
+    }
+
+    private static BigDecimal rateAsOf(MortgageRateHistory history, Instant asOf, int maturityPeriod) {
+        return history.getRatesAsOf(asOf).orElseThrow().findRate(maturityPeriod).interestRate();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private static MortgageRateTable table(long version, Instant lastUpdate, String rate10, String rate20) {
+        return MortgageRateTable.of(version, List.of(
+                new MortgageRateDb(20, new BigDecimal(rate20), lastUpdate),
+                new MortgageRateDb(10, new BigDecimal(rate10), lastUpdate)));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ing.mortgage.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.model.AmortizationRow;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
+import com.ing.mortgage.repository.MortgageRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmortizationScheduleServiceTest {
+
+    private static final Amount LOAN = new Amount(BigDecimal.valueOf(250000), Amount.CurrencyEnum.EUR);
+
+    private MortgageRateRepository mortgageRateRepository;
+    private AmortizationScheduleService amortizationScheduleService;
+
+    @BeforeEach
+    void setUp() {
+        mortgageRateRepository = Mockito.mock(MortgageRateRepository.class);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, List.of(
+                new MortgageRateDb(480, BigDecimal.valueOf(4.5), null))));
+        var configuration = new MortgageCalculationConfiguration();
+        var interestRatesService = new InterestRatesService(mortgageRateRepository, new AnnuityFactorCache(configuration), configuration, Optional.empty());
+        amortizationScheduleService = new AmortizationScheduleService(interestRatesService);
+    }
+
+    @Test
+    void getSchedule_repaysLoanExactlyOverTerm() {
+        AmortizationSchedule schedule = amortizationScheduleService.getSchedule(LOAN, 480, null);
+
+        BigDecimal monthlyRate = InterestRatesService.toMonthlyInterestRate(BigDecimal.valueOf(4.5));
+        BigDecimal balance = LOAN.getAmount().setScale(2);
+        BigDecimal repaid = BigDecimal.ZERO;
+        AmortizationRow row = null;
+        while (schedule.hasNext()) {
+            row = schedule.next();
+            assertEquals(balance.multiply(monthlyRate).setScale(2, RoundingMode.HALF_UP), row.interest(), "month " + row.month());
+            assertEquals(row.payment(), row.principal().add(row.interest()));
+            if (row.month() < 480) {
+                assertEquals(schedule.getMonthlyPayment(), row.payment(), "month " + row.month());
+            }
+            balance = balance.subtract(row.principal());
+            assertEquals(balance, row.remainingBalance());
+            repaid = repaid.add(row.principal());
+        }
+
+        assertEquals(480, row.month());
+        assertEquals(0, row.remainingBalance().signum());
+        assertEquals(LOAN.getAmount().setScale(2), repaid);
+        // the payment is rounded to cents, which compounds over the term into a small correction of the last payment
+        assertTrue(row.payment().subtract(schedule.getMonthlyPayment()).abs().compareTo(BigDecimal.TEN) < 0, "last payment " + row.payment());
+    }
+
+    @Test
+    void getSchedule_zeroRate_repaysPrincipalOnly() {
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(2, List.of(
+                new MortgageRateDb(10, BigDecimal.ZERO, null))));
+
+        AmortizationSchedule schedule = amortizationScheduleService.getSchedule(new Amount(BigDecimal.valueOf(1000), Amount.CurrencyEnum.EUR), 3, null);
+
+        assertEquals(new AmortizationRow(1, new BigDecimal("333.00"), new BigDecimal("333.00"), new BigDecimal("0.00"), new BigDecimal("667.00")), schedule.next());
+        assertEquals(new AmortizationRow(2, new BigDecimal("333.00"), new BigDecimal("333.00"), new BigDecimal("0.00"), new BigDecimal("334.00")), schedule.next());
+        assertEquals(new AmortizationRow(3, new BigDecimal("334.00"), new BigDecimal("334.00"), new BigDecimal("0.00"), new BigDecimal("0.00")), schedule.next());
+        assertFalse(schedule.hasNext());
+    }
+
+    @Test
+    void getSchedule_invalidMaturityPeriod_throws() {
+        var exception = assertThrows(InvalidRequestException.class, () -> amortizationScheduleService.getSchedule(LOAN, 0, null));
+
+        assertEquals("maturityPeriod: must be between 1 and 1200", exception.getMessage());
+    }
+
+    @Test
+    void getSchedule_negativeLoan_throws() {
+        Amount loan = new Amount(BigDecimal.valueOf(-1), Amount.CurrencyEnum.EUR);
+
+        var exception = assertThrows(InvalidRequestException.class, () -> amortizationScheduleService.getSchedule(loan, 12, null));
+
+        assertEquals("loanValue.amount: must be greater than or equal to 0", exception.getMessage());
+    }
+
+    @Test
+    void writeJson_writesArrayWithRowPerMonth() throws Exception {
+        var objectMapper = new ObjectMapper();
+        var output = new ByteArrayOutputStream();
+
+        new AmortizationScheduleWriter(objectMapper).writeJson(amortizationScheduleService.getSchedule(LOAN, 360, null), output);
+
+        JsonNode rows = objectMapper.readTree(output.toByteArray());
+        assertEquals(360, rows.size());
+        assertEquals(1, rows.get(0).get("month").asInt());
+        assertEquals(BigDecimal.ZERO.setScale(2), rows.get(359).get("remainingBalance").decimalValue());
+    }
+
+    @Test
+    void writeCsv_writesHeaderAndLinePerMonth() throws Exception {
+        var output = new ByteArrayOutputStream();
+
+        new AmortizationScheduleWriter(new ObjectMapper()).writeCsv(amortizationScheduleService.getSchedule(LOAN, 360, null), output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(361, lines.size());
+        assertEquals(AmortizationScheduleWriter.CSV_HEADER, lines.getFirst());
+        assertTrue(lines.getLast().startsWith("360,"));
+        assertTrue(lines.getLast().endsWith(",0.00"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnnuityFactorCacheTest {
+
+    private static final BigDecimal MONTHLY_RATE = BigDecimal.valueOf(4.5).divide(BigDecimal.valueOf(1200), 10, RoundingMode.HALF_UP);
+
+    private AnnuityFactorCache cache;
+
+    @BeforeEach
+    void setUp() {
+        var configuration = new MortgageCalculationConfiguration();
+        configuration.setAnnuityFactorCacheSize(2);
+        cache = new AnnuityFactorCache(configuration);
+    }
+
+    @Test
+    void getFactor_countsHitsAndMisses() {
+        BigDecimal first = cache.getFactor(MONTHLY_RATE, 360, 1);
+        BigDecimal second = cache.getFactor(MONTHLY_RATE, 360, 1);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void getFactor_newRatesVersionClearsCache() {
+        cache.getFactor(MONTHLY_RATE, 360, 1);
+        cache.getFactor(MONTHLY_RATE, 240, 1);
+
+        cache.getFactor(MONTHLY_RATE, 360, 2);
+
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void getFactor_staysWithinMaximumSize() {
+        for (int termMonths = 1; termMonths <= 10; termMonths++) {
+            cache.getFactor(MONTHLY_RATE, termMonths, 1);
+        }
+
+        assertTrue(cache.size() <= 2);
+    }
+
+    @Test
+    void getFactor_isAccurateToFactorPrecision() {
+        BigDecimal onePlusIToTheT = BigDecimal.ONE.add(MONTHLY_RATE).pow(360);
+        BigDecimal exact = MONTHLY_RATE.multiply(onePlusIToTheT)
+                .divide(onePlusIToTheT.subtract(BigDecimal.ONE), 100, RoundingMode.HALF_UP);
+
+        BigDecimal factor = cache.getFactor(MONTHLY_RATE, 360, 1);
+
+        BigDecimal relativeError = factor.subtract(exact).abs().divide(exact, 100, RoundingMode.HALF_UP);
+        assertTrue(relativeError.compareTo(BigDecimal.ONE.movePointLeft(AnnuityFactorCache.FACTOR_PRECISION - 1)) < 0);
+    }
+
+    @Test
+    void bindTo_exposesHitAndMissCounters() {
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.getFactor(MONTHLY_RATE, 360, 1);
+        cache.getFactor(MONTHLY_RATE, 360, 1);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").gauge().value());
+    }
+}
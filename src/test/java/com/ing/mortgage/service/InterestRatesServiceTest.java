@@ -1,8 +1,10 @@
 package com.ing.mortgage.service;
 
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
 import com.ing.mortgage.model.MortgageRateDb;
 import com.ing.mortgage.model.Amount;
 import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageRateTable;
 import com.ing.mortgage.repository.MortgageRateRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -20,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class InterestRatesServiceTest {
     private MortgageRateRepository mortgageRateRepository;
     private InterestRatesService interestRatesService;
+    private AnnuityFactorCache annuityFactorCache;
 
     private final MortgageRateDb rate1 =
             new MortgageRateDb(5, BigDecimal.TEN, null);
@@ -33,23 +37,25 @@ class InterestRatesServiceTest {
     @BeforeEach
     void setUp() {
         mortgageRateRepository = Mockito.mock(MortgageRateRepository.class);
-        interestRatesService = new InterestRatesService(mortgageRateRepository);
+        annuityFactorCache = new AnnuityFactorCache(new MortgageCalculationConfiguration());
+        interestRatesService = new InterestRatesService(mortgageRateRepository, annuityFactorCache, new MortgageCalculationConfiguration(), Optional.empty());
         rates = new ArrayList<>();
         rates.add(rate1);
         rates.add(rate2);
         rates.add(rate3);
         Collections.shuffle(rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
     }
 
     @Test
     void testGetMortgageRate_EmptyRates_ReturnsNull() {
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(List.of());
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, List.of()));
         assertThrows(IllegalStateException.class, () -> interestRatesService.getMortgageRate(10));
     }
 
     @Test
     void testGetMortgageRate_LessThanLowest_ReturnsLowest() {
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
         MortgageRateDb result = interestRatesService.getMortgageRate(2);
         assertEquals(rate1, result);
     }
@@ -57,25 +63,40 @@ class InterestRatesServiceTest {
     @Test
     void testGetMortgageRate_ExactMatch_ReturnsMatchedRate() {
 
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
         MortgageRateDb result = interestRatesService.getMortgageRate(10);
         assertEquals(rate2, result);
     }
 
     @Test
     void testGetMortgageRate_BetweenRates_ReturnsLowerBound() {
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
         MortgageRateDb result = interestRatesService.getMortgageRate(7);
         assertEquals(rate1, result);
     }
 
     @Test
     void testGetMortgageRate_GreaterThanAll_ReturnsLast() {
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
         MortgageRateDb result = interestRatesService.getMortgageRate(20);
         assertEquals(rate3, result);
     }
 
+    @Test
+    void testGetMortgageRate_BetweenHigherRates_ReturnsLowerBound() {
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
+        MortgageRateDb result = interestRatesService.getMortgageRate(12);
+        assertEquals(rate2, result);
+    }
+
+    @Test
+    void testGetMortgageRate_DoesNotModifyRepositoryList() {
+        List<MortgageRateDb> unsorted = new ArrayList<>(List.of(rate3, rate1, rate2));
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, unsorted));
+        interestRatesService.getMortgageRate(10);
+        assertEquals(List.of(rate3, rate1, rate2), unsorted);
+    }
+
     @Test
     void testCalculateMonthlyCosts_ValidInput() {
         var amount = Amount.builder().amount(BigDecimal.valueOf(200000.0)).currency(Amount.CurrencyEnum.EUR).build();
@@ -88,6 +109,34 @@ class InterestRatesServiceTest {
         assertEquals(expected, result.getAmount().setScale(2, RoundingMode.HALF_UP));
     }
 
+    @Test
+    void testCalculateMonthlyCosts_MatchesExactCalculation() {
+        var interestRate = BigDecimal.valueOf(4.5);
+        var monthlyInterestRate = interestRate.divide(BigDecimal.valueOf(100 * 12), 10, RoundingMode.HALF_UP);
+        for (int termMonths : new int[]{1, 12, 120, 240, 360, 480}) {
+            var principal = BigDecimal.valueOf(123456.78);
+            var amount = Amount.builder().amount(principal).currency(Amount.CurrencyEnum.EUR).build();
+            var request = new MortgageCheckRequest(amount, termMonths, amount, amount);
+
+            var result = interestRatesService.calculateMonthlyCosts(request, interestRate);
+
+            assertEquals(InterestRatesService.calculateExactPayment(principal, monthlyInterestRate, termMonths), result.getAmount());
+        }
+    }
+
+    @Test
+    void testCalculateMonthlyCosts_ReusesCachedFactor() {
+        var amount = Amount.builder().amount(BigDecimal.valueOf(200000.0)).currency(Amount.CurrencyEnum.EUR).build();
+        var request = new MortgageCheckRequest(amount, 360, amount, amount);
+
+        var first = interestRatesService.calculateMonthlyCosts(request, BigDecimal.valueOf(4.0));
+        var second = interestRatesService.calculateMonthlyCosts(request, BigDecimal.valueOf(4.0));
+
+        assertEquals(first.getAmount(), second.getAmount());
+        assertEquals(1, annuityFactorCache.getMissCount());
+        assertEquals(1, annuityFactorCache.getHitCount());
+    }
+
     @Test
     void testCalculateMonthlyCosts_ZeroInterestRate() {
         var amount = Amount.builder().amount(BigDecimal.valueOf(100000.0)).currency(Amount.CurrencyEnum.EUR).build();
@@ -139,7 +188,7 @@ class InterestRatesServiceTest {
 
     @Test
     void testGetInterestRate_ValidRequest_ReturnsCorrectRate() {
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
         MortgageCheckRequest request = new MortgageCheckRequest(
                 Amount.builder().amount(BigDecimal.valueOf(100000)).currency(Amount.CurrencyEnum.EUR).build(),
                 10,
@@ -152,7 +201,7 @@ class InterestRatesServiceTest {
 
     @Test
     void testGetInterestRate_LessThanLowest_ReturnsLowestRate() {
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
         MortgageCheckRequest request = new MortgageCheckRequest(
                 Amount.builder().amount(BigDecimal.valueOf(100000)).currency(Amount.CurrencyEnum.EUR).build(),
                 2,
@@ -165,7 +214,7 @@ class InterestRatesServiceTest {
 
     @Test
     void testGetInterestRate_GreaterThanAll_ReturnsLastRate() {
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, rates));
         MortgageCheckRequest request = new MortgageCheckRequest(
                 Amount.builder().amount(BigDecimal.valueOf(100000)).currency(Amount.CurrencyEnum.EUR).build(),
                 20,
@@ -178,7 +227,7 @@ class InterestRatesServiceTest {
 
     @Test
     void testGetInterestRate_EmptyRates_ThrowsException() {
-        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(List.of());
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, List.of()));
         MortgageCheckRequest request = new MortgageCheckRequest(
                 Amount.builder().amount(BigDecimal.valueOf(100000)).currency(Amount.CurrencyEnum.EUR).build(),
                 10,
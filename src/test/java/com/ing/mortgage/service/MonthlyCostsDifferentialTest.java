@@ -0,0 +1,87 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageRateTable;
+import com.ing.mortgage.repository.MortgageRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares both calculation modes against the original BigDecimal pipeline on random inputs.
+ * The default iteration count keeps the unit test run short; run with
+ * {@code -Dmortgage.differential.iterations=5000000} for the full differential run.
+ */
+class MonthlyCostsDifferentialTest {
+
+    private static final int ITERATIONS = Integer.getInteger("mortgage.differential.iterations", 20_000);
+    private static final long SEED = Long.getLong("mortgage.differential.seed", 20250101L);
+    private static final int DISTINCT_RATES = 10;
+    private static final int MAX_TERM_MONTHS = 480;
+
+    private InterestRatesService exactService;
+    private InterestRatesService fastService;
+
+    @BeforeEach
+    void setUp() {
+        var mortgageRateRepository = Mockito.mock(MortgageRateRepository.class);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, List.of()));
+
+        var exactConfiguration = new MortgageCalculationConfiguration();
+        exactService = new InterestRatesService(mortgageRateRepository, new AnnuityFactorCache(exactConfiguration), exactConfiguration, Optional.empty());
+
+        var fastConfiguration = new MortgageCalculationConfiguration();
+        fastConfiguration.setMode(MortgageCalculationConfiguration.Mode.FAST);
+        fastService = new InterestRatesService(mortgageRateRepository, new AnnuityFactorCache(fastConfiguration), fastConfiguration, Optional.empty());
+    }
+
+    @Test
+    void calculateMonthlyCosts_bothModesMatchOriginalCalculationToTheCent() {
+        var random = new Random(SEED);
+        var interestRates = new BigDecimal[DISTINCT_RATES];
+        for (int i = 0; i < DISTINCT_RATES; i++) {
+            interestRates[i] = BigDecimal.valueOf(random.nextInt(1, 10_001), 2);
+        }
+        Map<String, BigDecimal[]> powers = new HashMap<>();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            var interestRate = interestRates[random.nextInt(DISTINCT_RATES)];
+            int termMonths = random.nextInt(1, MAX_TERM_MONTHS + 1);
+            var principal = BigDecimal.valueOf(random.nextLong(0, 20_000_000_000L), 2);
+            var amount = Amount.builder().amount(principal).currency(Amount.CurrencyEnum.EUR).build();
+            var request = new MortgageCheckRequest(amount, termMonths, amount, amount);
+
+            var expected = originalCalculation(principal, interestRate, termMonths, powers);
+
+            String input = principal + " at " + interestRate + "% over " + termMonths + " months";
+            assertEquals(expected, exactService.calculateMonthlyCosts(request, interestRate).getAmount(), input);
+            assertEquals(expected, fastService.calculateMonthlyCosts(request, interestRate).getAmount(), input);
+        }
+    }
+
+    // the original calculateMonthlyCosts pipeline, with (1 + I)^T hoisted out of the loop to keep the run affordable
+    private static BigDecimal originalCalculation(BigDecimal principal, BigDecimal interestRate, int termMonths,
+                                                  Map<String, BigDecimal[]> powers) {
+        var monthlyInterestRate = interestRate.divide(BigDecimal.valueOf(100 * 12), 10, RoundingMode.HALF_UP);
+        BigDecimal[] fraction = powers.computeIfAbsent(interestRate + "/" + termMonths, key -> {
+            BigDecimal onePlusIToTheT = (BigDecimal.ONE.add(monthlyInterestRate)).pow(termMonths);
+            return new BigDecimal[]{monthlyInterestRate.multiply(onePlusIToTheT), onePlusIToTheT.subtract(BigDecimal.ONE)};
+        });
+        return principal
+                .multiply(fraction[0])
+                .divide(fraction[1], RoundingMode.HALF_UP)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
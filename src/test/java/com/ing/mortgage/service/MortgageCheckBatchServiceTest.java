@@ -0,0 +1,97 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckBatchResponse;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MortgageCheckBatchServiceTest {
+
+    private MortgageCheckService mortgageCheckService;
+    private MortgageCheckBatchService mortgageCheckBatchService;
+    private final UUID traceId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        mortgageCheckService = mock(MortgageCheckService.class);
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        mortgageCheckBatchService = new MortgageCheckBatchService(mortgageCheckService, validator, Runnable::run);
+        MDC.put(X_TRACE_ID, traceId.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(X_TRACE_ID);
+    }
+
+    @Test
+    void checkMortgages_returnsResultsInRequestOrder() {
+        var first = validRequest(100000);
+        var second = validRequest(200000);
+        var firstResponse = MortgageCheckResponse.builder().feasible(true).build();
+        var secondResponse = MortgageCheckResponse.builder().feasible(false).build();
+        when(mortgageCheckService.checkMortgage(first)).thenReturn(firstResponse);
+        when(mortgageCheckService.checkMortgage(second)).thenReturn(secondResponse);
+
+        MortgageCheckBatchResponse response = mortgageCheckBatchService.checkMortgages(Arrays.asList(first, second));
+
+        assertEquals(2, response.getResults().size());
+        assertEquals(firstResponse, response.getResults().get(0).getResponse());
+        assertEquals(secondResponse, response.getResults().get(1).getResponse());
+        assertEquals(traceId, response.getTraceId());
+    }
+
+    @Test
+    void checkMortgages_reportsInvalidItemWithoutFailingBatch() {
+        var valid = validRequest(100000);
+        var invalid = validRequest(100000);
+        invalid.setIncome(null);
+        var validResponse = MortgageCheckResponse.builder().feasible(true).build();
+        when(mortgageCheckService.checkMortgage(valid)).thenReturn(validResponse);
+
+        MortgageCheckBatchResponse response = mortgageCheckBatchService.checkMortgages(Arrays.asList(invalid, valid, null));
+
+        var invalidResult = response.getResults().get(0);
+        assertNull(invalidResult.getResponse());
+        assertEquals("INVALID_REQUEST", invalidResult.getError().getErrorCode());
+        assertEquals("income: must not be null", invalidResult.getError().getMessage());
+        assertEquals(traceId, invalidResult.getError().getTraceId());
+        assertEquals(validResponse, response.getResults().get(1).getResponse());
+        assertEquals("INVALID_REQUEST", response.getResults().get(2).getError().getErrorCode());
+    }
+
+    @Test
+    void checkMortgages_reportsFailingItemAsInternalError() {
+        var failing = validRequest(100000);
+        when(mortgageCheckService.checkMortgage(any())).thenThrow(new IllegalStateException("No mortgage rates available"));
+
+        MortgageCheckBatchResponse response = mortgageCheckBatchService.checkMortgages(List.of(failing));
+
+        assertEquals("INTERNAL_SERVER_ERROR", response.getResults().getFirst().getError().getErrorCode());
+    }
+
+    private static MortgageCheckRequest validRequest(long loanValue) {
+        return MortgageCheckRequest.builder()
+                .maturityPeriod(20)
+                .income(new Amount(BigDecimal.valueOf(50000), Amount.CurrencyEnum.EUR))
+                .loanValue(new Amount(BigDecimal.valueOf(loanValue), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(BigDecimal.valueOf(300000), Amount.CurrencyEnum.EUR))
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.MortgageCoalescingConfiguration;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MortgageCheckCoalescerTest {
+
+    private static final int THREADS = 64;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentIdenticalChecks_computeExactlyOnce() throws Exception {
+        var coalescer = coalescer(Duration.ofSeconds(30));
+        var computations = new AtomicInteger();
+        var response = MortgageCheckResponse.builder().feasible(true).build();
+
+        List<MortgageCheckResponse> results = runConcurrently(() -> coalescer.execute(key(1), () -> {
+            computations.incrementAndGet();
+            // hold the computation until every other caller is waiting for it
+            awaitCondition(() -> coalescer.getCoalescedCount() == THREADS - 1);
+            return response;
+        }));
+
+        assertEquals(1, computations.get());
+        assertEquals(THREADS - 1, coalescer.getCoalescedCount());
+        results.forEach(result -> assertSame(response, result));
+    }
+
+    @Test
+    void execute_differentKeys_computeIndependently() throws Exception {
+        var coalescer = coalescer(Duration.ofSeconds(30));
+        var computations = new AtomicInteger();
+        var keys = new AtomicInteger();
+
+        runConcurrently(() -> coalescer.execute(key(keys.incrementAndGet()), () -> {
+            computations.incrementAndGet();
+            return MortgageCheckResponse.builder().feasible(true).build();
+        }));
+
+        assertEquals(THREADS, computations.get());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    void execute_failingComputation_rethrowsToEveryCaller() throws Exception {
+        var coalescer = coalescer(Duration.ofSeconds(30));
+        var computations = new AtomicInteger();
+        var futures = new ArrayList<Future<MortgageCheckResponse>>();
+        var start = new CountDownLatch(1);
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return coalescer.execute(key(1), () -> {
+                    computations.incrementAndGet();
+                    awaitCondition(() -> coalescer.getCoalescedCount() == THREADS - 1);
+                    throw new RatesNotAvailableException("asOf: no mortgage rates known");
+                });
+            }));
+        }
+        start.countDown();
+
+        for (Future<MortgageCheckResponse> future : futures) {
+            var exception = assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(RatesNotAvailableException.class, exception.getCause());
+            assertEquals("asOf: no mortgage rates known", exception.getCause().getMessage());
+        }
+        assertEquals(1, computations.get());
+        // the failed call is not kept: the next check computes again
+        assertNotNull(coalescer.execute(key(1), () -> MortgageCheckResponse.builder().feasible(true).build()));
+    }
+
+    @Test
+    void execute_slowComputation_followerStopsWaitingAfterMaxWait() throws Exception {
+        var coalescer = coalescer(Duration.ofMillis(50));
+        var leaderStarted = new CountDownLatch(1);
+        var releaseLeader = new CountDownLatch(1);
+        var leaderResponse = MortgageCheckResponse.builder().feasible(true).build();
+        var followerResponse = MortgageCheckResponse.builder().feasible(false).build();
+        Future<MortgageCheckResponse> leader = executor.submit(() -> coalescer.execute(key(1), () -> {
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return leaderResponse;
+        }));
+        assertTrue(leaderStarted.await(30, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        MortgageCheckResponse result = coalescer.execute(key(1), () -> followerResponse);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        releaseLeader.countDown();
+
+        assertSame(followerResponse, result);
+        assertSame(leaderResponse, leader.get(30, TimeUnit.SECONDS));
+        assertEquals(1, coalescer.getTimeoutCount());
+        assertTrue(waitedMillis >= 50 && waitedMillis < 5_000, "waited " + waitedMillis + " ms");
+    }
+
+    private List<MortgageCheckResponse> runConcurrently(Callable<MortgageCheckResponse> call) throws Exception {
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<MortgageCheckResponse>>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        var results = new ArrayList<MortgageCheckResponse>();
+        for (Future<MortgageCheckResponse> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static MortgageCheckCoalescer coalescer(Duration maxWait) {
+        var configuration = new MortgageCoalescingConfiguration();
+        configuration.setMaxWait(maxWait);
+        return new MortgageCheckCoalescer(configuration);
+    }
+
+    private static MortgageCheckKey key(int loanValue) {
+        var amount = new Amount(BigDecimal.valueOf(loanValue), Amount.CurrencyEnum.EUR);
+        return MortgageCheckKey.of(new MortgageCheckRequest(amount, 240, amount, amount), 1);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Condition not reached within 30 seconds");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,18 +1,34 @@
 package com.ing.mortgage.service;
 
-import com.ing.mortgage.businessrules.RuleResult;
 import com.ing.mortgage.businessrules.RulesEngine;
+import com.ing.mortgage.configuration.MortgageCoalescingConfiguration;
+import com.ing.mortgage.configuration.MortgageDecisionCacheConfiguration;
 import com.ing.mortgage.model.Amount;
 import com.ing.mortgage.model.MortgageCheckRequest;
 import com.ing.mortgage.model.MortgageCheckResponse;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum.CURRENCY_MISMATCH;
+import static com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum.HIGH_LOAN_TO_VALUE;
+import static com.ing.mortgage.filter.TraceIdFilter.X_TRACE_ID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class MortgageCheckServiceTest {
@@ -25,15 +41,14 @@ class MortgageCheckServiceTest {
     void setUp() {
         interestRatesService = mock(InterestRatesService.class);
         rulesEngine = mock(RulesEngine.class);
-        mortgageCheckService = new MortgageCheckService(interestRatesService, rulesEngine);
+        mortgageCheckService = new MortgageCheckService(interestRatesService, rulesEngine, Optional.empty(), Optional.empty());
     }
 
     @Test
     void testCheckMortgage_AllRulesPassed() {
         MortgageCheckRequest request = new MortgageCheckRequest();
-        when(rulesEngine.evaluateRules(request)).thenReturn(
-                List.of(new RuleResult(true, null), new RuleResult(true, null)));
-        when(interestRatesService.getInterestRate(request)).thenReturn(BigDecimal.valueOf(2.5));
+        when(rulesEngine.evaluateFailures(request)).thenReturn(0L);
+        when(interestRatesService.getInterestRate(request, null)).thenReturn(BigDecimal.valueOf(2.5));
         when(interestRatesService.calculateMonthlyCosts(request, BigDecimal.valueOf(2.5)))
                 .thenReturn(Amount.builder().amount(BigDecimal.valueOf(1000.0)).currency(Amount.CurrencyEnum.EUR).build());
 
@@ -46,11 +61,96 @@ class MortgageCheckServiceTest {
     @Test
     void testCheckMortgage_RulesFailed() {
         MortgageCheckRequest request = new MortgageCheckRequest();
-        when(rulesEngine.evaluateRules(request)).thenReturn(
-                List.of(new RuleResult(false, null), new RuleResult(true, null)));
+        when(rulesEngine.evaluateFailures(request)).thenReturn(
+                1L << HIGH_LOAN_TO_VALUE.ordinal() | 1L << CURRENCY_MISMATCH.ordinal());
         MortgageCheckResponse response = mortgageCheckService.checkMortgage(request);
 
         assertFalse(response.getFeasible());
         assertNull(response.getMonthlyCosts());
+        assertEquals(List.of(HIGH_LOAN_TO_VALUE, CURRENCY_MISMATCH), response.getErrorCodes());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCheckMortgage_DecisionCache_HitCarriesOwnTraceIdAndRateChangeMisses() {
+        var service = new MortgageCheckService(interestRatesService, rulesEngine,
+                Optional.of(new MortgageDecisionCache(new MortgageDecisionCacheConfiguration())), Optional.empty());
+        var request = MortgageCheckRequest.builder()
+                .loanValue(new Amount(BigDecimal.valueOf(150000), Amount.CurrencyEnum.EUR))
+                .maturityPeriod(240)
+                .build();
+        when(rulesEngine.evaluateFailures(request)).thenReturn(1L << HIGH_LOAN_TO_VALUE.ordinal());
+        when(interestRatesService.getCurrentRatesVersion()).thenReturn(1L);
+
+        UUID firstTraceId = UUID.randomUUID();
+        MDC.put(X_TRACE_ID, firstTraceId.toString());
+        MortgageCheckResponse first = service.checkMortgage(request);
+        UUID secondTraceId = UUID.randomUUID();
+        MDC.put(X_TRACE_ID, secondTraceId.toString());
+        MortgageCheckResponse second = service.checkMortgage(request);
+
+        assertEquals(firstTraceId, first.getTraceId());
+        assertEquals(secondTraceId, second.getTraceId());
+        assertEquals(first.getErrorCodes(), second.getErrorCodes());
+        verify(rulesEngine, times(1)).evaluateFailures(request);
+
+        // a caller changing its response does not change the cached one
+        first.getErrorCodes().add(CURRENCY_MISMATCH);
+        MDC.put(X_TRACE_ID, UUID.randomUUID().toString());
+        assertEquals(List.of(HIGH_LOAN_TO_VALUE), service.checkMortgage(request).getErrorCodes());
+
+        when(interestRatesService.getCurrentRatesVersion()).thenReturn(2L);
+        service.checkMortgage(request);
+        verify(rulesEngine, times(2)).evaluateFailures(request);
+    }
+
+    @Test
+    void testCheckMortgage_ConcurrentIdenticalChecks_EvaluateOnceWithOwnTraceIds() throws Exception {
+        int threads = 32;
+        var coalescer = new MortgageCheckCoalescer(new MortgageCoalescingConfiguration());
+        var service = new MortgageCheckService(interestRatesService, rulesEngine, Optional.empty(), Optional.of(coalescer));
+        var request = MortgageCheckRequest.builder()
+                .loanValue(new Amount(BigDecimal.valueOf(150000), Amount.CurrencyEnum.EUR))
+                .maturityPeriod(240)
+                .build();
+        when(rulesEngine.evaluateFailures(request)).thenAnswer(invocation -> {
+            // hold the evaluation until every other check is waiting for it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (coalescer.getCoalescedCount() < threads - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return 1L << HIGH_LOAN_TO_VALUE.ordinal();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            var start = new CountDownLatch(1);
+            var traceIds = new ArrayList<UUID>();
+            var futures = new ArrayList<Future<MortgageCheckResponse>>();
+            for (int i = 0; i < threads; i++) {
+                UUID traceId = UUID.randomUUID();
+                traceIds.add(traceId);
+                futures.add(executor.submit(() -> {
+                    MDC.put(X_TRACE_ID, traceId.toString());
+                    start.await();
+                    return service.checkMortgage(request);
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < threads; i++) {
+                MortgageCheckResponse response = futures.get(i).get(30, TimeUnit.SECONDS);
+                assertEquals(traceIds.get(i), response.getTraceId());
+                assertEquals(List.of(HIGH_LOAN_TO_VALUE), response.getErrorCodes());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(rulesEngine, times(1)).evaluateFailures(request);
+        assertEquals(threads - 1, coalescer.getCoalescedCount());
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(X_TRACE_ID);
+    }
+}
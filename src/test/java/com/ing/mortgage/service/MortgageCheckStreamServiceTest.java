@@ -0,0 +1,124 @@
+package com.ing.mortgage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.configuration.MortgageBatchConfiguration;
+import com.ing.mortgage.model.ErrorResponse;
+import com.ing.mortgage.model.MortgageCheckBatchResult;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MortgageCheckStreamServiceTest {
+
+    private static final String REQUEST = "{\"loanValue\":{\"amount\":%d,\"currency\":\"EUR\"},\"maturityPeriod\":20,"
+            + "\"income\":{\"amount\":50000,\"currency\":\"EUR\"},\"homeValue\":{\"amount\":300000,\"currency\":\"EUR\"}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MortgageCheckBatchService mortgageCheckBatchService;
+    private MortgageCheckStreamService mortgageCheckStreamService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        mortgageCheckBatchService = mock(MortgageCheckBatchService.class);
+        var configuration = new MortgageBatchConfiguration();
+        configuration.setParallelism(2);
+        executor = Executors.newFixedThreadPool(2);
+        mortgageCheckStreamService = new MortgageCheckStreamService(mortgageCheckBatchService, executor, objectMapper, configuration);
+        when(mortgageCheckBatchService.checkMortgage(any(), any())).thenAnswer(invocation -> {
+            MortgageCheckRequest request = invocation.getArgument(0);
+            long loanValue = request.getLoanValue().getAmount().longValue();
+            if (loanValue == 0) {
+                return MortgageCheckBatchResult.builder()
+                        .error(new ErrorResponse("INVALID_REQUEST", "loanValue.amount: must be greater than 0", null))
+                        .build();
+            }
+            // later requests finish first, results must still come back in request order
+            Thread.sleep(Math.max(0, 20 - loanValue / 10_000));
+            return MortgageCheckBatchResult.builder()
+                    .response(MortgageCheckResponse.builder().feasible(true).monthlyCosts(request.getLoanValue()).build())
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void checkMortgages_writesOneLinePerRequestInOrder() throws IOException {
+        var input = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            input.append(REQUEST.formatted(i * 10_000)).append('\n');
+        }
+        input.append(REQUEST.formatted(0)).append('\n');
+
+        String[] lines = run(input.toString());
+
+        assertEquals(11, lines.length);
+        for (int i = 1; i <= 10; i++) {
+            var response = objectMapper.readValue(lines[i - 1], MortgageCheckResponse.class);
+            assertEquals(i * 10_000, response.getMonthlyCosts().getAmount().intValue());
+        }
+        assertEquals("INVALID_REQUEST", objectMapper.readValue(lines[10], ErrorResponse.class).getErrorCode());
+    }
+
+    @Test
+    void checkMortgages_endsStreamWithErrorOnMalformedLine() throws IOException {
+        String input = REQUEST.formatted(10_000) + "\n{\"loanValue\": nonsense}\n" + REQUEST.formatted(20_000) + "\n";
+
+        String[] lines = run(input);
+
+        assertEquals(2, lines.length);
+        assertTrue(objectMapper.readValue(lines[0], MortgageCheckResponse.class).getFeasible());
+        var error = objectMapper.readValue(lines[1], ErrorResponse.class);
+        assertEquals("line 2: malformed JSON", error.getMessage());
+    }
+
+    @Test
+    void checkMortgages_unmappableLine_writesErrorAndContinues() throws IOException {
+        String input = REQUEST.formatted(10_000) + "\n" + REQUEST.formatted(20_000).replaceFirst("EUR", "XYZ") + "\n"
+                + REQUEST.formatted(30_000) + "\n";
+
+        String[] lines = run(input);
+
+        assertEquals(3, lines.length);
+        assertEquals(10_000, objectMapper.readValue(lines[0], MortgageCheckResponse.class).getMonthlyCosts().getAmount().intValue());
+        var error = objectMapper.readValue(lines[1], ErrorResponse.class);
+        assertEquals("INVALID_REQUEST", error.getErrorCode());
+        assertEquals("line 2: loanValue.currency: invalid value", error.getMessage());
+        assertEquals(30_000, objectMapper.readValue(lines[2], MortgageCheckResponse.class).getMonthlyCosts().getAmount().intValue());
+    }
+
+    @Test
+    void checkMortgages_emptyInputWritesNothing() throws IOException {
+        assertEquals("", new String(runRaw(""), StandardCharsets.UTF_8));
+    }
+
+    private String[] run(String input) throws IOException {
+        String output = new String(runRaw(input), StandardCharsets.UTF_8);
+        assertTrue(output.endsWith("\n"));
+        return output.split("\n");
+    }
+
+    private byte[] runRaw(String input) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        mortgageCheckStreamService.checkMortgages(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), outputStream);
+        return outputStream.toByteArray();
+    }
+}
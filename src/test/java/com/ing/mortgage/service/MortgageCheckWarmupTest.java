@@ -0,0 +1,119 @@
+package com.ing.mortgage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.mortgage.businessrules.MortgageBusinessRule;
+import com.ing.mortgage.businessrules.RulesEngine;
+import com.ing.mortgage.businessrules.rules.MaxMortgageForHomeValue;
+import com.ing.mortgage.businessrules.rules.MaxMortgageForIncome;
+import com.ing.mortgage.businessrules.rules.SameCurrency;
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.configuration.MortgageWarmupConfiguration;
+import com.ing.mortgage.configuration.RulesEngineConfiguration;
+import com.ing.mortgage.controller.MortgageCheckJsonConverter;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse.ErrorCodesEnum;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
+import com.ing.mortgage.repository.MortgageRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MortgageCheckWarmupTest {
+
+    private static final List<MortgageRateDb> RATES = List.of(
+            new MortgageRateDb(15, new BigDecimal("3.5"), Instant.EPOCH),
+            new MortgageRateDb(20, new BigDecimal("4.0"), Instant.EPOCH),
+            new MortgageRateDb(30, new BigDecimal("4.5"), Instant.EPOCH));
+
+    private final List<MortgageBusinessRule> rules = List.of(new MaxMortgageForIncome(), new MaxMortgageForHomeValue(), new SameCurrency());
+    private final MortgageWarmupConfiguration configuration = new MortgageWarmupConfiguration();
+    private MortgageRateRepository mortgageRateRepository;
+    private MortgageCheckWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        mortgageRateRepository = Mockito.mock(MortgageRateRepository.class);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(RATES);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(MortgageRateTable.of(1, RATES));
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var converters = new HttpMessageConverters(false,
+                List.of(new MortgageCheckJsonConverter(objectMapper), new MappingJackson2HttpMessageConverter(objectMapper)));
+        configuration.setIterations(3_000);
+        configuration.setRoundSize(500);
+        warmup = new MortgageCheckWarmup(configuration, mortgageRateRepository, new MortgageCalculationConfiguration(),
+                rules, new RulesEngineConfiguration(), converters, objectMapper);
+    }
+
+    @Test
+    void warmUp_withoutConvergence_runsTargetIterations() throws Exception {
+        configuration.setConvergenceTolerance(0);
+
+        MortgageCheckWarmup.Result result = warmup.warmUp();
+
+        assertEquals(3_000, result.iterations());
+        assertEquals(MortgageCheckWarmup.StopReason.ITERATIONS, result.stopReason());
+        assertTrue(result.averageNanos() > 0);
+    }
+
+    @Test
+    void warmUp_stableLatency_stopsOnceConverged() throws Exception {
+        configuration.setConvergenceTolerance(1_000);
+        configuration.setStableRounds(2);
+
+        MortgageCheckWarmup.Result result = warmup.warmUp();
+
+        assertEquals(1_500, result.iterations());
+        assertEquals(MortgageCheckWarmup.StopReason.CONVERGED, result.stopReason());
+    }
+
+    @Test
+    void warmUp_timeLimitReached_stopsWithinRound() throws Exception {
+        configuration.setMaxDuration(Duration.ZERO);
+
+        MortgageCheckWarmup.Result result = warmup.warmUp();
+
+        assertEquals(1, result.iterations());
+        assertEquals(MortgageCheckWarmup.StopReason.TIME_LIMIT, result.stopReason());
+        assertTrue(result.averageNanos() > 0);
+    }
+
+    @Test
+    void warmUp_noRates_skipsChecks() throws Exception {
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(List.of());
+
+        assertEquals(MortgageCheckWarmup.StopReason.NO_RATES, warmup.warmUp().stopReason());
+    }
+
+    @Test
+    void syntheticRequests_coverMaturitiesCurrenciesAndRuleOutcomes() {
+        List<MortgageCheckRequest> requests = MortgageCheckWarmup.syntheticRequests(List.of(15, 20, 30));
+        var rulesEngine = new RulesEngine(rules);
+
+        Set<List<ErrorCodesEnum>> outcomes = new HashSet<>();
+        for (MortgageCheckRequest request : requests) {
+            outcomes.add(RulesEngine.toErrorCodes(rulesEngine.evaluateFailures(request)));
+        }
+
+        assertEquals(Set.of(15, 20, 30), requests.stream().map(MortgageCheckRequest::getMaturityPeriod).collect(Collectors.toSet()));
+        assertEquals(Set.of(Amount.CurrencyEnum.values()),
+                requests.stream().map(request -> request.getLoanValue().getCurrency()).collect(Collectors.toSet()));
+        assertEquals(8, outcomes.size());
+    }
+}
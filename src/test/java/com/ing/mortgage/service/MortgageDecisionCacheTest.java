@@ -0,0 +1,106 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.MortgageDecisionCacheConfiguration;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MortgageDecisionCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void key_normalizesIncomeAndHomeValueButKeepsLoanValueScale() {
+        var request = request("150000", "50000", "200000");
+        var sameValues = request("150000", "50000.00", "2.0E5");
+        var scaledLoan = request("150000.00", "50000", "200000");
+
+        assertEquals(MortgageCheckKey.of(request, 1), MortgageCheckKey.of(sameValues, 1));
+        assertNotEquals(MortgageCheckKey.of(request, 1), MortgageCheckKey.of(request, 2));
+        assertNotEquals(MortgageCheckKey.of(request, 1), MortgageCheckKey.of(scaledLoan, 1));
+    }
+
+    @Test
+    void get_returnsCachedResponseUntilTimeToLiveExpires() {
+        var cache = cache(100, Duration.ofSeconds(10));
+        var key = key(1);
+        var response = response();
+
+        cache.put(key, response);
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertSame(response, cache.get(key));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get(key));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_beyondMaximumSize_evictsOneOffEntriesBeforeRepeatedOnes() {
+        // five entries per shard, every key only competes with the keys of its own shard
+        var cache = cache(16 * 5, Duration.ofMinutes(1));
+        var repeated = key(0);
+        cache.put(repeated, response());
+        assertNotNull(cache.get(repeated));
+
+        for (int i = 1; i <= 1000; i++) {
+            cache.put(key(i), response());
+        }
+
+        assertNotNull(cache.get(repeated));
+        assertTrue(cache.size() <= 16 * 5);
+        assertEquals(1001 - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test
+    void bindTo_registersCacheMeters() {
+        var cache = cache(100, Duration.ofMinutes(1));
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put(key(1), response());
+
+        cache.get(key(1));
+        cache.get(key(2));
+
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "mortgageDecisions", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "mortgageDecisions", "result", "miss").functionCounter().count());
+        assertEquals(0.5, registry.get("cache.hit.ratio").gauge().value());
+        assertEquals(1.0, registry.get("cache.size").gauge().value());
+        assertEquals((double) MortgageDecisionCache.ESTIMATED_ENTRY_BYTES, registry.get("cache.memory.estimated").gauge().value());
+        assertEquals(0.0, registry.get("cache.evictions").functionCounter().count());
+    }
+
+    private MortgageDecisionCache cache(int maximumSize, Duration timeToLive) {
+        var configuration = new MortgageDecisionCacheConfiguration();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setTimeToLive(timeToLive);
+        return new MortgageDecisionCache(configuration, clock::get);
+    }
+
+    private static MortgageCheckKey key(int loanValue) {
+        return MortgageCheckKey.of(request(String.valueOf(loanValue), "50000", "200000"), 1);
+    }
+
+    private static MortgageCheckRequest request(String loanValue, String income, String homeValue) {
+        return MortgageCheckRequest.builder()
+                .loanValue(new Amount(new BigDecimal(loanValue), Amount.CurrencyEnum.EUR))
+                .income(new Amount(new BigDecimal(income), Amount.CurrencyEnum.EUR))
+                .homeValue(new Amount(new BigDecimal(homeValue), Amount.CurrencyEnum.EUR))
+                .maturityPeriod(240)
+                .build();
+    }
+
+    private static MortgageCheckResponse response() {
+        return MortgageCheckResponse.builder().feasible(true).build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.ing.mortgage.service;
+
+import com.ing.mortgage.configuration.MortgageCalculationConfiguration;
+import com.ing.mortgage.configuration.PricingGridConfiguration;
+import com.ing.mortgage.model.Amount;
+import com.ing.mortgage.model.MortgageCheckRequest;
+import com.ing.mortgage.model.MortgageRateDb;
+import com.ing.mortgage.model.MortgageRateTable;
+import com.ing.mortgage.model.PricingGridRequest;
+import com.ing.mortgage.model.PricingGridResponse;
+import com.ing.mortgage.model.PricingGridRow;
+import com.ing.mortgage.repository.MortgageRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingGridServiceTest {
+
+    private InterestRatesService interestRatesService;
+
+    @BeforeEach
+    void setUp() {
+        List<MortgageRateDb> rates = new ArrayList<>();
+        for (int maturityPeriod = 12; maturityPeriod <= 480; maturityPeriod += 12) {
+            rates.add(new MortgageRateDb(maturityPeriod, BigDecimal.valueOf(300 + maturityPeriod * 7L, 3), null));
+        }
+        rates.add(new MortgageRateDb(6, BigDecimal.ZERO, null));
+        rates.add(new MortgageRateDb(24, BigDecimal.valueOf(99), null));
+        var mortgageRateRepository = Mockito.mock(MortgageRateRepository.class);
+        var table = MortgageRateTable.of(1, rates);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRateTable()).thenReturn(table);
+        Mockito.when(mortgageRateRepository.getCurrentMortgageRates()).thenReturn(table.getRates());
+
+        var configuration = new MortgageCalculationConfiguration();
+        interestRatesService = new InterestRatesService(mortgageRateRepository, new AnnuityFactorCache(configuration), configuration, Optional.empty());
+    }
+
+    @Test
+    void calculatePricingGrid_matchesMonthlyCostsOfSingleChecksToTheCent() {
+        var request = request("1000.00", "251000.00", "250.00");
+
+        for (boolean vectorized : new boolean[]{true, false}) {
+            PricingGridResponse grid = service(vectorized, 1001).calculatePricingGrid(request, null);
+
+            assertEquals(1001, grid.getLoanValues().size());
+            assertEquals(41, grid.getRows().size());
+            assertGridMatchesSingleChecks(grid);
+        }
+    }
+
+    @Test
+    void calculatePricingGrid_oddLoanValuesAndSteps_matchSingleChecks() {
+        var random = new Random(20250101L);
+        for (int i = 0; i < 20; i++) {
+            var min = BigDecimal.valueOf(random.nextLong(0, 100_000_000L), 2);
+            var step = BigDecimal.valueOf(random.nextLong(1, 10_000_000L), 2);
+            var max = min.add(step.multiply(BigDecimal.valueOf(random.nextInt(0, 64)))).add(BigDecimal.valueOf(random.nextInt(0, 100), 2));
+
+            assertGridMatchesSingleChecks(service(true, 100).calculatePricingGrid(request(min.toPlainString(), max.toPlainString(), step.toPlainString()), null));
+        }
+    }
+
+    @Test
+    void kernels_produceIdenticalCents() {
+        var random = new Random(42);
+        double[] principals = new double[1027];
+        for (int i = 0; i < principals.length; i++) {
+            principals[i] = random.nextLong(0, 2_000_000_000_000L) / 100.0;
+        }
+        principals[0] = 0;
+        principals[1] = 1e16;
+        var vectorCents = new long[principals.length];
+        var scalarCents = new long[principals.length];
+        double relativeError = InterestRatesService.fastPaymentRelativeError(360 * Math.log1p(0.003));
+
+        PaymentGridKernel kernel = PaymentGridKernel.create(true);
+        if (Boolean.getBoolean("mortgage.pricing-grid.vectorKernelRequired")) {
+            assertEquals(PaymentGridKernel.VECTOR_KERNEL, kernel.getClass().getName());
+        }
+        kernel.applyFactor(principals, 0.0045, relativeError, vectorCents);
+        new ScalarPaymentGridKernel().applyFactor(principals, 0.0045, relativeError, scalarCents);
+
+        assertArrayEquals(scalarCents, vectorCents);
+        assertEquals(0, scalarCents[0]);
+        assertEquals(PaymentGridKernel.NOT_EXACT, scalarCents[1]);
+    }
+
+    @Test
+    void calculatePricingGrid_invalidRanges_throwInvalidRequestException() {
+        PricingGridService service = service(true, 100);
+
+        var currencyMismatch = request("1000", "2000", "100");
+        currencyMismatch.getMaxLoanValue().setCurrency(Amount.CurrencyEnum.USD);
+        assertEquals("maxLoanValue.currency: must equal minLoanValue.currency",
+                assertThrows(InvalidRequestException.class, () -> service.calculatePricingGrid(currencyMismatch, null)).getMessage());
+        assertEquals("maxLoanValue.amount: must be greater than or equal to minLoanValue.amount",
+                assertThrows(InvalidRequestException.class, () -> service.calculatePricingGrid(request("2000", "1000", "100"), null)).getMessage());
+        assertEquals("loanValueStep: the grid may have at most 100 loan values",
+                assertThrows(InvalidRequestException.class, () -> service.calculatePricingGrid(request("0", "100", "1"), null)).getMessage());
+        assertEquals(100, service.calculatePricingGrid(request("1", "100", "1"), null).getLoanValues().size());
+    }
+
+    private void assertGridMatchesSingleChecks(PricingGridResponse grid) {
+        for (PricingGridRow row : grid.getRows()) {
+            for (int i = 0; i < grid.getLoanValues().size(); i++) {
+                var loanValue = new Amount(grid.getLoanValues().get(i), Amount.CurrencyEnum.EUR);
+                var request = MortgageCheckRequest.builder().loanValue(loanValue).maturityPeriod(row.getMaturityPeriod()).build();
+                BigDecimal expected = interestRatesService.calculateMonthlyCosts(request, interestRatesService.getInterestRate(request)).getAmount();
+                assertEquals(expected, row.getMonthlyCosts().get(i), loanValue.getAmount() + " over " + row.getMaturityPeriod() + " months");
+            }
+        }
+    }
+
+    private PricingGridService service(boolean vectorized, int maxLoanValues) {
+        var configuration = new PricingGridConfiguration();
+        configuration.setVectorized(vectorized);
+        configuration.setMaxLoanValues(maxLoanValues);
+        return new PricingGridService(interestRatesService, configuration);
+    }
+
+    private static PricingGridRequest request(String min, String max, String step) {
+        return PricingGridRequest.builder()
+                .minLoanValue(new Amount(new BigDecimal(min), Amount.CurrencyEnum.EUR))
+                .maxLoanValue(new Amount(new BigDecimal(max), Amount.CurrencyEnum.EUR))
+                .loanValueStep(new BigDecimal(step))
+                .build();
+    }
+}
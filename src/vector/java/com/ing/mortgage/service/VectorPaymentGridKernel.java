@@ -0,0 +1,39 @@
+package com.ing.mortgage.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ScalarPaymentGridKernel} on the vector API. The lane-wise operations are the same IEEE operations in the
+ * same order, and the double to long conversion truncates like a cast, so both kernels produce identical cents.
+ * Only loaded when the {@code jdk.incubator.vector} module is present, see {@link PaymentGridKernel#create(boolean)}.
+ */
+final class VectorPaymentGridKernel implements PaymentGridKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = VectorSpecies.of(long.class, SPECIES.vectorShape());
+
+    @Override
+    public void applyFactor(double[] principals, double annuityFactor, double relativeError, long[] cents) {
+        int i = 0;
+        for (int upperBound = SPECIES.loopBound(principals.length); i < upperBound; i += SPECIES.length()) {
+            DoubleVector payment = DoubleVector.fromArray(SPECIES, principals, i).mul(annuityFactor);
+            DoubleVector error = payment.mul(relativeError).add(InterestRatesService.FAST_PAYMENT_ABSOLUTE_ERROR);
+            DoubleVector lower = payment.sub(error).mul(100).add(0.5);
+            DoubleVector upper = payment.add(error).mul(100).add(0.5);
+            VectorMask<Double> inRange = payment.lt(InterestRatesService.MAX_FAST_PAYMENT)
+                    .and(lower.compare(VectorOperators.GE, 0));
+
+            var lowerCents = (LongVector) lower.convertShape(VectorOperators.D2L, LONG_SPECIES, 0);
+            var upperCents = (LongVector) upper.convertShape(VectorOperators.D2L, LONG_SPECIES, 0);
+            VectorMask<Long> exact = lowerCents.eq(upperCents).and(inRange.cast(LONG_SPECIES));
+            lowerCents.blend(NOT_EXACT, exact.not()).intoArray(cents, i);
+        }
+        for (; i < principals.length; i++) {
+            cents[i] = ScalarPaymentGridKernel.toCents(principals[i], annuityFactor, relativeError);
+        }
+    }
+}